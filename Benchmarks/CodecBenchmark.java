@@ -0,0 +1,282 @@
+package sa_robocode.Benchmarks;
+
+import robocode.Bullet;
+import robocode.ScannedRobotEvent;
+import sa_robocode.Communication.BountyBoard;
+import sa_robocode.Communication.BountyInfo;
+import sa_robocode.Communication.BountyUpdate;
+import sa_robocode.Communication.BulletInfo;
+import sa_robocode.Communication.Message;
+import sa_robocode.Communication.MessageType;
+import sa_robocode.Communication.PositionStream;
+import sa_robocode.Communication.ScanInfo;
+import sa_robocode.Communication.TeammateInfo;
+import sa_robocode.Helpers.Location;
+import sa_robocode.Helpers.Roster;
+import sa_robocode.Helpers.Tracker;
+import sa_robocode.robots.RobotType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Measures the team message codec, printing size and encode/decode time of a sample message of each MessageType
+ * Each message goes in its own envelope, written and read the same way Outbox does, so sizes include the envelope header.
+ * Senders move every tick, so positions are measured as the deltas and keyframes robots really send.
+ * The same messages are also sent through Java serialization, as robots did before the codec, to compare against.
+ * Run with robocode.jar and the robots on the classpath: java sa_robocode.Benchmarks.CodecBenchmark [messages]
+ */
+public class CodecBenchmark {
+    private static final int DEFAULT_MESSAGES = 20000;
+    private static final int WARMUP_RUNS = 3;
+    private static final double ARENA_WIDTH = 800;
+    private static final double ARENA_HEIGHT = 600;
+    private static final String SENDER = "sa_robocode.robots.Captain*";
+    private static final String[] TEAMMATES = {"sa_robocode.robots.Droid* (1)", "sa_robocode.robots.Droid* (2)"};
+    private static final String[] ENEMIES = {"sample.Walls", "sample.SpinBot", "sample.Crazy", "sample.Tracker", "sample.RamFire"};
+
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MESSAGES;
+        List<Tracker> ranking = ranking();
+
+        System.out.printf("%-18s %8s %10s %10s %8s %10s %10s%n", "Message", "Java B", "Java enc", "Java dec", "Bytes", "Enc ns", "Dec ns");
+
+        for (Map.Entry<String, IntFunction<Message>> sample : samples(ranking).entrySet()) {
+            Message[] batch = new Message[messages];
+            SerializedMessage[] baseline = new SerializedMessage[messages];
+            for (int i=0; i<messages; i++) {
+                batch[i] = sample.getValue().apply(i);
+                baseline[i] = new SerializedMessage(batch[i], ranking);
+            }
+
+            // Earlier runs only warm up the JIT
+            for (int run=0; run<WARMUP_RUNS; run++) {
+                measure(batch);
+                measureSerialization(baseline);
+            }
+
+            double[] result = measure(batch);
+            double[] old = measureSerialization(baseline);
+            System.out.printf("%-18s %8.1f %10.1f %10.1f %8.1f %10.1f %10.1f%n", sample.getKey(), old[0], old[1], old[2], result[0], result[1], result[2]);
+        }
+    }
+
+    /**
+     * Encodes a batch of messages, one envelope each, and then decodes them in the same order
+     * @param batch Messages to measure
+     * @return Average envelope bytes, encode nanoseconds and decode nanoseconds per message
+     * @throws IOException If a message can not be written or read
+     */
+    private static double[] measure(Message[] batch) throws IOException {
+        Roster writerRoster = new Roster();
+        PositionStream writerPositions = new PositionStream();
+        Roster readerRoster = new Roster();
+        PositionStream readerPositions = new PositionStream();
+        int sender = readerRoster.getId(SENDER);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream bodyData = new DataOutputStream(body);
+        ByteArrayOutputStream envelope = new ByteArrayOutputStream();
+        DataOutputStream envelopeData = new DataOutputStream(envelope);
+        byte[][] envelopes = new byte[batch.length][];
+        long bytes = 0;
+
+        long start = System.nanoTime();
+        for (int i=0; i<batch.length; i++) {
+            body.reset();
+            batch[i].writeTo(bodyData, writerRoster, writerPositions);
+            bodyData.flush();
+
+            envelope.reset();
+            writerRoster.writeAnnouncements(envelopeData);
+            envelopeData.writeShort(1);
+            envelopeData.write(body.toByteArray());
+            envelopeData.flush();
+            writerRoster.markAnnounced();
+
+            envelopes[i] = envelope.toByteArray();
+        }
+        long encode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (byte[] bytesRead : envelopes) {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytesRead));
+            readerRoster.readAnnouncements(in, sender);
+            in.readUnsignedShort();
+
+            if (Message.readFrom(in, readerRoster, sender, readerPositions) == null) {
+                throw new IOException("Message could not be decoded");
+            }
+        }
+        long decode = System.nanoTime() - start;
+
+        // First envelope announces every robot id, which only happens once per round
+        for (int i=1; i<envelopes.length; i++) {
+            bytes += envelopes[i].length;
+        }
+
+        int count = batch.length;
+        return new double[] {count > 1 ? (double) bytes / (count - 1) : 0, (double) encode / count, (double) decode / count};
+    }
+
+    /**
+     * Serializes a batch of messages, one stream each as robocode does for every message sent, and then reads them back
+     * @param batch Messages to measure
+     * @return Average bytes, encode nanoseconds and decode nanoseconds per message
+     * @throws IOException If a message can not be written or read
+     * @throws ClassNotFoundException If a read class is not on the classpath
+     */
+    private static double[] measureSerialization(SerializedMessage[] batch) throws IOException, ClassNotFoundException {
+        byte[][] streams = new byte[batch.length][];
+        long bytes = 0;
+
+        long start = System.nanoTime();
+        for (int i=0; i<batch.length; i++) {
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            ObjectOutputStream out = new ObjectOutputStream(stream);
+            out.writeObject(batch[i]);
+            out.close();
+
+            streams[i] = stream.toByteArray();
+        }
+        long encode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (byte[] stream : streams) {
+            ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(stream));
+            if (in.readObject() == null) {
+                throw new IOException("Message could not be deserialized");
+            }
+        }
+        long decode = System.nanoTime() - start;
+
+        for (byte[] stream : streams) {
+            bytes += stream.length;
+        }
+
+        int count = batch.length;
+        return new double[] {(double) bytes / count, (double) encode / count, (double) decode / count};
+    }
+
+    /**
+     * Gets sample message of each type for every tick of the benchmark, as sent in a round
+     * @param ranking Enemy trackers, ranked
+     * @return Sample factories by message name
+     */
+    private static Map<String, IntFunction<Message>> samples(List<Tracker> ranking) {
+        Map<String, IntFunction<Message>> samples = new LinkedHashMap<>();
+
+        samples.put("BULLET_INFO", tick -> new Message(new BulletInfo(new Bullet(tick % 360, location(tick).getX(), location(tick).getY(), 2, SENDER, null, true, tick),
+                SENDER, (long) tick, location(tick), ARENA_WIDTH, ARENA_HEIGHT)));
+        samples.put("SCAN_INFO", tick -> new Message(scan(ENEMIES[0], tick)));
+        samples.put("STATUS_INFO", tick -> new Message(new TeammateInfo(SENDER, RobotType.CAPTAIN, 100.0 - tick % 100), MessageType.STATUS_INFO));
+        samples.put("TEAMMATE_REGISTER", tick -> new Message(new TeammateInfo(SENDER, RobotType.CAPTAIN, 200.0), MessageType.TEAMMATE_REGISTER));
+        samples.put("LOCATION_UPDATE", tick -> new Message(location(tick), tick, tick % 360, 8, 5));
+        samples.put("RADAR_ASSIGNMENT", tick -> new Message(radarAssignment()));
+        samples.put("BOUNTIES_INFO", tick -> new Message(bounties(ranking)));
+        samples.put("RANKING_DIGEST", tick -> new Message(BountyBoard.digest(ranking), tick));
+
+        return samples;
+    }
+
+    // Robots go around a circle, 4 pixels per tick
+    private static Location location(int tick) {
+        double angle = tick * 0.02;
+        return new Location(ARENA_WIDTH / 2 + 200 * Math.cos(angle), ARENA_HEIGHT / 2 + 200 * Math.sin(angle));
+    }
+
+    private static ScanInfo scan(String enemy, int tick) {
+        ScannedRobotEvent sre = new ScannedRobotEvent(enemy, 100 - tick % 100, tick % 360 - 180, 300, tick % 360, 8, false);
+        sre.setTime(tick);
+
+        return new ScanInfo(location(tick), sre);
+    }
+
+    private static Map<String, String> radarAssignment() {
+        Map<String, String> radarAssignment = new LinkedHashMap<>();
+
+        for (int i=0; i<ENEMIES.length; i++) {
+            radarAssignment.put(ENEMIES[i], i == 0 ? SENDER : TEAMMATES[i % TEAMMATES.length]);
+        }
+
+        return radarAssignment;
+    }
+
+    private static List<Tracker> ranking() {
+        List<Tracker> ranking = new ArrayList<>();
+
+        for (String enemy : ENEMIES) {
+            Tracker tracker = new Tracker(enemy);
+            for (int tick=0; tick<40; tick++) {
+                ScanInfo si = scan(enemy, tick);
+                tracker.addPing(si);
+                tracker.addSharedPing(si);
+            }
+
+            tracker.findPatterns(Long.MAX_VALUE);
+            ranking.add(tracker);
+        }
+
+        return ranking;
+    }
+
+    private static BountyUpdate bounties(List<Tracker> ranking) {
+        List<String> order = new ArrayList<>();
+        Map<String, BountyInfo> patterns = new HashMap<>();
+
+        for (Tracker tracker : ranking) {
+            order.add(tracker.getName());
+            patterns.put(tracker.getName(), new BountyInfo(tracker));
+        }
+
+        return new BountyUpdate(1, true, order, patterns);
+    }
+
+    /**
+     * Message as robots serialized it before the codec, with the fields added since
+     * Bounties were sent as the whole trackers, pings included
+     */
+    private static final class SerializedMessage implements Serializable {
+        private final MessageType messageType;
+        private final BulletInfo bulletInfo;
+        private final ScanInfo scanInfo;
+        private final TeammateInfo teammateInfo;
+        private final Set<Tracker> bounties;
+        private final Location location;
+        private final Map<String, String> radarAssignment;
+        private final long tick;
+        private final double heading;
+        private final double velocity;
+        private final double turnRate;
+        private final int digest;
+
+        private SerializedMessage(Message message, List<Tracker> ranking) {
+            this.messageType = message.getMessageType();
+            this.bulletInfo = message.getBulletInfo();
+            this.scanInfo = message.getScanInfo();
+            this.teammateInfo = message.getTeammateInfo();
+            this.bounties = message.getBounties() != null ? new HashSet<>(ranking) : null;
+            this.location = message.getLocation();
+            this.radarAssignment = message.getRadarAssignment();
+            this.tick = message.getTick();
+            this.heading = message.getHeading();
+            this.velocity = message.getVelocity();
+            this.turnRate = message.getTurnRate();
+            this.digest = message.getDigest();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package sa_robocode.Benchmarks;
+
+import sa_robocode.Helpers.ArenaCalculations;
+import sa_robocode.Helpers.CollisionKernels;
+import sa_robocode.Helpers.Location;
+
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures the robot collision tests, comparing the primitive array kernels with the Path2D polygon they replaced
+ * Point tests check bullet positions around a robot, as bullet avoidance does every tick.
+ * Sweep tests walk a bullet path past a teammate, as teammatesBetweenLocation does before firing.
+ * Hit counts are printed too, so both paths can be checked to agree.
+ * Run with the robots on the classpath: java sa_robocode.Benchmarks.CollisionBenchmark [tests]
+ */
+public class CollisionBenchmark {
+    private static final int DEFAULT_TESTS = 200000;
+    private static final int WARMUP_RUNS = 3;
+    private static final double TOLERANCE = 6.0;
+    private static final double SPREAD = 80;
+    private static final double BULLET_SPEED = 19.7;
+    private static final int SWEEP_STEPS = 30;
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int tests = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TESTS;
+        Random random = new Random(SEED);
+
+        double[] robotX = new double[tests];
+        double[] robotY = new double[tests];
+        double[] headings = new double[tests];
+        double[] xs = new double[tests];
+        double[] ys = new double[tests];
+        double[] startX = new double[tests];
+        double[] startY = new double[tests];
+        double[] stepX = new double[tests];
+        double[] stepY = new double[tests];
+
+        for (int i=0; i<tests; i++) {
+            robotX[i] = 100 + random.nextDouble() * 600;
+            robotY[i] = 100 + random.nextDouble() * 400;
+            headings[i] = random.nextDouble() * 360;
+            xs[i] = robotX[i] + (random.nextDouble() - 0.5) * SPREAD;
+            ys[i] = robotY[i] + (random.nextDouble() - 0.5) * SPREAD;
+
+            // Sweeps start half the path away, passing the robot center within half the spread
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double miss = (random.nextDouble() - 0.5) * SPREAD;
+            stepX[i] = BULLET_SPEED * Math.cos(angle);
+            stepY[i] = BULLET_SPEED * Math.sin(angle);
+            startX[i] = robotX[i] - stepX[i] * SWEEP_STEPS / 2 - Math.sin(angle) * miss;
+            startY[i] = robotY[i] - stepY[i] * SWEEP_STEPS / 2 + Math.cos(angle) * miss;
+        }
+
+        System.out.printf("%-14s %12s %12s %8s %8s%n", "Test", "Path2D ns", "Kernel ns", "Path2D", "Kernel");
+
+        long[] result = null;
+        for (int run=0; run<=WARMUP_RUNS; run++) {
+            result = measurePoints(robotX, robotY, headings, xs, ys);
+        }
+        print("point", result, tests);
+
+        for (int run=0; run<=WARMUP_RUNS; run++) {
+            result = measureSweeps(robotX, robotY, headings, startX, startY, stepX, stepY);
+        }
+        print("sweep", result, tests);
+    }
+
+    private static void print(String test, long[] result, int tests) {
+        System.out.printf("%-14s %12.1f %12.1f %8d %8d%n", test, (double) result[0] / tests, (double) result[1] / tests, result[2], result[3]);
+    }
+
+    /**
+     * Tests one point against each robot, with both paths
+     * @return Path2D and kernel nanoseconds, then Path2D and kernel hits
+     */
+    private static long[] measurePoints(double[] robotX, double[] robotY, double[] headings, double[] xs, double[] ys) {
+        long oldHits = 0;
+        long newHits = 0;
+
+        long start = System.nanoTime();
+        for (int i=0; i<xs.length; i++) {
+            if (insidePolygon(new Location(robotX[i], robotY[i]), headings[i], new Location(xs[i], ys[i]))) {
+                oldHits++;
+            }
+        }
+        long oldTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i=0; i<xs.length; i++) {
+            if (CollisionKernels.isInsideRobot(robotX[i], robotY[i], headings[i], xs[i], ys[i], TOLERANCE)) {
+                newHits++;
+            }
+        }
+        long newTime = System.nanoTime() - start;
+
+        return new long[] {oldTime, newTime, oldHits, newHits};
+    }
+
+    /**
+     * Sweeps one bullet path past each robot, with both paths
+     * @return Path2D and kernel nanoseconds, then Path2D and kernel hits
+     */
+    private static long[] measureSweeps(double[] robotX, double[] robotY, double[] headings, double[] xs, double[] ys, double[] stepX, double[] stepY) {
+        long oldHits = 0;
+        long newHits = 0;
+
+        long start = System.nanoTime();
+        for (int i=0; i<xs.length; i++) {
+            Location robot = new Location(robotX[i], robotY[i]);
+
+            for (int step=1; step<=SWEEP_STEPS; step++) {
+                if (insidePolygon(robot, headings[i], new Location(xs[i] + stepX[i] * step, ys[i] + stepY[i] * step))) {
+                    oldHits++;
+                    break;
+                }
+            }
+        }
+        long oldTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i=0; i<xs.length; i++) {
+            if (CollisionKernels.firstSweepStepInsideRobot(robotX[i], robotY[i], headings[i], TOLERANCE, xs[i], ys[i], stepX[i], stepY[i], SWEEP_STEPS) > 0) {
+                newHits++;
+            }
+        }
+        long newTime = System.nanoTime() - start;
+
+        return new long[] {oldTime, newTime, oldHits, newHits};
+    }
+
+    // Polygon test that ArenaCalculations.isLocationInsideRobot used before the kernels
+    private static boolean insidePolygon(Location robot, double robotHeading, Location location) {
+        List<Location> robotEdges = ArenaCalculations.getEdgesFromCenterLocation(robot, robotHeading, TOLERANCE);
+        Path2D robotLimits = new Path2D.Double();
+
+        Location leftEdge = ArenaCalculations.getEdge(robotEdges, false, true, true);
+        Location rightEdge = ArenaCalculations.getEdge(robotEdges, false, false, false);
+        Location bottomEdge = ArenaCalculations.getEdge(robotEdges, true, true, false);
+        Location topEdge = ArenaCalculations.getEdge(robotEdges, true, false, true);
+
+        robotLimits.moveTo(topEdge.getX(), topEdge.getY());
+        robotLimits.lineTo(rightEdge.getX(), rightEdge.getY());
+        robotLimits.lineTo(bottomEdge.getX(), bottomEdge.getY());
+        robotLimits.lineTo(leftEdge.getX(), leftEdge.getY());
+        robotLimits.closePath();
+
+        return robotLimits.contains(new Point2D.Double(location.getX(), location.getY()));
+    }
+}
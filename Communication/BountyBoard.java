@@ -0,0 +1,166 @@
+package sa_robocode.Communication;
+
+import sa_robocode.Helpers.Tracker;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latest bounty ranking published by the leader
+ * Robots rank bounties themselves, and the leader only publishes its ranking when a teammate reports a different digest.
+ * A new version is built only when the ranking changed materially, which is a different order
+ * or an enemy with a different pattern type, and a full version every REFRESH_TICKS so fitted parameters stay fresh.
+ * Teammates keep the latest version, so they can pick a bounty on the tick their gun cools without asking the leader
+ */
+public class BountyBoard {
+    public static final long REFRESH_TICKS = 16;
+
+    private String source = null;
+    private int version = 0;
+    private long lastFull = Long.MIN_VALUE;
+    private final List<String> order = new ArrayList<>();
+    private final Map<String, BountyInfo> patterns = new HashMap<>();
+
+    private long published = 0;
+    private long diffs = 0;
+    private long rejected = 0;
+
+    /**
+     * Builds next version from the leader ranking, if it changed materially
+     * @param mostWanted Leader trackers in ranking order
+     * @param self Name of the leader
+     * @param tick Current tick
+     * @return Update to broadcast, null if teammates already have an equivalent ranking
+     */
+    public BountyUpdate publish(Collection<Tracker> mostWanted, String self, long tick) {
+        List<String> newOrder = new ArrayList<>(mostWanted.size());
+        Map<String, BountyInfo> newPatterns = new HashMap<>();
+
+        for (Tracker tracker : mostWanted) {
+            newOrder.add(tracker.getName());
+            newPatterns.put(tracker.getName(), new BountyInfo(tracker));
+        }
+
+        // New leaders and stale rankings start over with a full version
+        boolean full = !self.equals(source) || tick - lastFull >= REFRESH_TICKS;
+        Map<String, BountyInfo> carried = full ? newPatterns : new HashMap<>();
+
+        if (!full) {
+            for (Map.Entry<String, BountyInfo> entry : newPatterns.entrySet()) {
+                BountyInfo previous = patterns.get(entry.getKey());
+                if (previous == null || previous.getTrackerType() != entry.getValue().getTrackerType()) {
+                    carried.put(entry.getKey(), entry.getValue());
+                }
+            }
+
+            if (carried.isEmpty() && newOrder.equals(order)) return null;
+        }
+
+        BountyUpdate update = new BountyUpdate(version + 1, full, newOrder, carried);
+        apply(update, self);
+        if (full) {
+            lastFull = tick;
+        }
+
+        published++;
+        if (!full) {
+            diffs++;
+        }
+
+        return update;
+    }
+
+    /**
+     * Applies an update received from the leader
+     * Diffs that do not follow the local version are rejected, and the ranking waits for the next full version
+     * @param update Update received
+     * @param sender Name of the teammate that published it
+     * @return True if update was applied
+     */
+    public boolean apply(BountyUpdate update, String sender) {
+        if (!update.isFull() && (!sender.equals(source) || update.getVersion() != version + 1)) {
+            rejected++;
+            return false;
+        }
+
+        if (update.isFull()) {
+            patterns.clear();
+        }
+
+        patterns.putAll(update.getPatterns());
+        patterns.keySet().retainAll(update.getOrder());
+        order.clear();
+        order.addAll(update.getOrder());
+
+        source = sender;
+        version = update.getVersion();
+
+        return true;
+    }
+
+    /**
+     * Gets digest of a ranking, from enemy names and pattern types in ranking order
+     * String hash codes are specified by the language, so every robot gets the same digest for the same ranking
+     * @param ranking Trackers in ranking order
+     * @return Ranking digest
+     */
+    public static int digest(Collection<Tracker> ranking) {
+        int digest = 1;
+
+        for (Tracker tracker : ranking) {
+            digest = 31 * digest + tracker.getName().hashCode();
+            digest = 31 * digest + tracker.getTrackerType().ordinal();
+        }
+
+        return digest;
+    }
+
+    /**
+     * Gets version of the latest ranking
+     * @return Version, 0 if no ranking was received or published yet
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets latest ranking
+     * @return Pattern of each enemy in ranking order
+     */
+    public List<BountyInfo> getRanking() {
+        List<BountyInfo> ranking = new ArrayList<>(order.size());
+
+        for (String name : order) {
+            ranking.add(patterns.get(name));
+        }
+
+        return ranking;
+    }
+
+    /**
+     * Gets number of versions published by this robot
+     * @return Versions published
+     */
+    public long getPublished() {
+        return published;
+    }
+
+    /**
+     * Gets number of published versions that were diffs
+     * @return Diffs published
+     */
+    public long getDiffs() {
+        return diffs;
+    }
+
+    /**
+     * Gets number of received diffs that could not be applied
+     * @return Diffs rejected
+     */
+    public long getRejected() {
+        return rejected;
+    }
+}
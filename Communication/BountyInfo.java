@@ -0,0 +1,118 @@
+package sa_robocode.Communication;
+
+import sa_robocode.Helpers.Circle;
+import sa_robocode.Helpers.Line;
+import sa_robocode.Helpers.Location;
+import sa_robocode.Helpers.Projection;
+import sa_robocode.Helpers.Roster;
+import sa_robocode.Helpers.Tracker;
+import sa_robocode.Helpers.TrackerType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Class implementation of an entry in the bounty ranking sent by the leader
+ * Only holds the enemy name and the pattern fitted by the leader, receivers apply it to their own tracker
+ */
+public class BountyInfo {
+    private final String name;
+    private final TrackerType trackerType;
+    private final Location stopped;
+    private final Line line;
+    private final Circle circle;
+    private final Projection projection;
+
+    /**
+     * Constructor from the leader tracker
+     * @param tracker Tracker with fitted pattern
+     */
+    public BountyInfo(Tracker tracker) {
+        this(tracker.getName(), tracker.getTrackerType(), tracker.getStopped(), tracker.getLine(), tracker.getCircle(), tracker.projection);
+    }
+
+    private BountyInfo(String name, TrackerType trackerType, Location stopped, Line line, Circle circle, Projection projection) {
+        this.name = name;
+        this.trackerType = trackerType;
+        this.stopped = stopped;
+        this.line = line;
+        this.circle = circle;
+        this.projection = projection;
+    }
+
+    /**
+     * Gets name of the enemy
+     * @return Enemy name
+     */
+    public String getName() {
+        return name;
+    }
+
+    public TrackerType getTrackerType() {
+        return trackerType;
+    }
+
+    /**
+     * Applies fitted pattern to a local tracker of the same enemy
+     * @param tracker Local tracker
+     */
+    public void applyTo(Tracker tracker) {
+        tracker.setPatterns(trackerType, stopped, line, circle, projection);
+    }
+
+    /**
+     * Writes name, pattern type and only the parameters of that pattern
+     * @param out Output to write to
+     * @param roster Roster to write robot ids
+     * @throws IOException If output fails
+     */
+    public void writeTo(DataOutput out, Roster roster) throws IOException {
+        roster.writeName(out, name);
+        out.writeByte(trackerType.ordinal());
+
+        switch (trackerType) {
+            case DUCK -> stopped.writeTo(out);
+
+            case CRAB -> line.writeTo(out);
+
+            case SHARK -> circle.writeTo(out);
+
+            case PROJECTION -> {
+                out.writeBoolean(projection != null);
+                if (projection != null) projection.writeTo(out);
+            }
+        }
+    }
+
+    /**
+     * Reads BountyInfo written by writeTo
+     * @param in Input to read from
+     * @param roster Roster to read robot ids
+     * @param sender Id of the teammate that wrote it
+     * @return BountyInfo read
+     * @throws IOException If input fails
+     */
+    public static BountyInfo readFrom(DataInput in, Roster roster, int sender) throws IOException {
+        String name = roster.readName(in, sender);
+        TrackerType trackerType = TrackerType.values()[in.readByte()];
+        Location stopped = null;
+        Line line = null;
+        Circle circle = null;
+        Projection projection = null;
+
+        switch (trackerType) {
+            case DUCK -> stopped = Location.readFrom(in);
+
+            case CRAB -> line = Line.readFrom(in);
+
+            case SHARK -> circle = Circle.readFrom(in);
+
+            case PROJECTION -> {
+                if (in.readBoolean()) projection = Projection.readFrom(in);
+            }
+        }
+
+        return new BountyInfo(name, trackerType, stopped, line, circle, projection);
+    }
+}
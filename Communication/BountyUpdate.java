@@ -0,0 +1,108 @@
+package sa_robocode.Communication;
+
+import sa_robocode.Helpers.Roster;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class implementation of a bounty ranking version published by the leader
+ * Full updates carry the pattern of every enemy, diffs carry the whole order but only the patterns that changed
+ * since the previous version, and can only be applied on top of it
+ */
+public class BountyUpdate {
+    private final int version;
+    private final boolean full;
+    private final List<String> order;
+    private final Map<String, BountyInfo> patterns;
+
+    /**
+     * Constructor
+     * @param version Ranking version, a diff applies on top of the version before it
+     * @param full True if every enemy carries its pattern
+     * @param order Enemy names in ranking order
+     * @param patterns Patterns carried, by enemy name
+     */
+    public BountyUpdate(int version, boolean full, List<String> order, Map<String, BountyInfo> patterns) {
+        this.version = version;
+        this.full = full;
+        this.order = order;
+        this.patterns = patterns;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public List<String> getOrder() {
+        return order;
+    }
+
+    public Map<String, BountyInfo> getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * Writes version and ranking, each enemy either with its pattern or only its id
+     * @param out Output to write to
+     * @param roster Roster to write robot ids
+     * @throws IOException If output fails
+     */
+    public void writeTo(DataOutput out, Roster roster) throws IOException {
+        out.writeInt(version);
+        out.writeBoolean(full);
+        out.writeShort(order.size());
+
+        for (String name : order) {
+            BountyInfo pattern = patterns.get(name);
+            out.writeBoolean(pattern != null);
+
+            if (pattern != null) {
+                pattern.writeTo(out, roster);
+            }
+
+            else {
+                roster.writeName(out, name);
+            }
+        }
+    }
+
+    /**
+     * Reads BountyUpdate written by writeTo
+     * @param in Input to read from
+     * @param roster Roster to read robot ids
+     * @param sender Id of the teammate that wrote it
+     * @return BountyUpdate read
+     * @throws IOException If input fails
+     */
+    public static BountyUpdate readFrom(DataInput in, Roster roster, int sender) throws IOException {
+        int version = in.readInt();
+        boolean full = in.readBoolean();
+        int size = in.readUnsignedShort();
+        List<String> order = new ArrayList<>(size);
+        Map<String, BountyInfo> patterns = new HashMap<>();
+
+        for (int i=0; i<size; i++) {
+            if (in.readBoolean()) {
+                BountyInfo pattern = BountyInfo.readFrom(in, roster, sender);
+                patterns.put(pattern.getName(), pattern);
+                order.add(pattern.getName());
+            }
+
+            else {
+                order.add(roster.readName(in, sender));
+            }
+        }
+
+        return new BountyUpdate(version, full, order, patterns);
+    }
+}
@@ -1,16 +1,25 @@
 package sa_robocode.Communication;
 
 import sa_robocode.Helpers.Location;
+import sa_robocode.Helpers.Roster;
 import sa_robocode.Helpers.ArenaCalculations;
 import sa_robocode.Helpers.Vector;
 import robocode.Bullet;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * Class implementation to store information regarding shot bullets
  */
 public class BulletInfo implements Serializable {
-    private final Bullet bullet;
+    private final Bullet bullet; // Only known by the shooter
+    private final boolean fired;
+    private final double firedAngle;
+    private final double bulletVelocity;
+    private final String shooter;
     private final Double arenaWidth;
     private final Double arenaHeight;
     private final Long firedOnTick;
@@ -19,19 +28,44 @@ public class BulletInfo implements Serializable {
     /**
      * Constructor for BulletInfo instance
      * @param bullet Robocode Bullet instance
+     * @param shooter Name of the robot that shot the bullet
      * @param firedOnTick Time Tick at which the bullet was shot
      * @param firedFrom Location of the robot when the bullet was shot
      * @param arenaWidth Arena width
      * @param arenaHeight Arena height
      */
-    public BulletInfo(Bullet bullet, Long firedOnTick, Location firedFrom, Double arenaWidth, Double arenaHeight) {
+    public BulletInfo(Bullet bullet, String shooter, Long firedOnTick, Location firedFrom, Double arenaWidth, Double arenaHeight) {
         this.bullet = bullet;
+        this.fired = bullet != null;
+        this.firedAngle = fired ? bullet.getHeading() : 0;
+        this.bulletVelocity = fired ? bullet.getVelocity() : 0;
+        this.shooter = shooter;
         this.firedOnTick = firedOnTick;
         this.firedFrom = firedFrom;
         this.arenaWidth = arenaWidth;
         this.arenaHeight = arenaHeight;
     }
 
+    private BulletInfo(boolean fired, double firedAngle, double bulletVelocity, String shooter, long firedOnTick, Location firedFrom, double arenaWidth, double arenaHeight) {
+        this.bullet = null;
+        this.fired = fired;
+        this.firedAngle = firedAngle;
+        this.bulletVelocity = bulletVelocity;
+        this.shooter = shooter;
+        this.firedOnTick = firedOnTick;
+        this.firedFrom = firedFrom;
+        this.arenaWidth = arenaWidth;
+        this.arenaHeight = arenaHeight;
+    }
+
+    /**
+     * Gets name of the robot that shot the bullet
+     * @return Shooter name
+     */
+    public String getShooter() {
+        return shooter;
+    }
+
     /**
      * Gets tick on which the bullet was shot
      * @return Initial bullet tick
@@ -53,7 +87,7 @@ public class BulletInfo implements Serializable {
      * @return Bullet heading angle
      */
     public Double getFiredAngle() {
-        return bullet.getHeading();
+        return firedAngle;
     }
 
     /**
@@ -61,7 +95,7 @@ public class BulletInfo implements Serializable {
      * @return Bullet velocity
      */
     public Double getBulletVelocity() {
-        return bullet.getVelocity();
+        return bulletVelocity;
     }
 
     public Vector getBulletVector() {
@@ -69,7 +103,7 @@ public class BulletInfo implements Serializable {
     }
 
     public boolean bulletIsNull() {
-        return bullet == null;
+        return !fired;
     }
 
     /**
@@ -90,4 +124,83 @@ public class BulletInfo implements Serializable {
         // Check if bullet has not collided with walls
         return ArenaCalculations.isInsideArena(currentLocation, arenaWidth, arenaHeight) ? currentLocation : null;
     }
+
+    /**
+     * Calculates the first tick on which the bullet is outside the arena
+     * @return Tick on which the bullet hits a wall
+     */
+    public long getWallExitTick() {
+        Vector bulletVector = getBulletVector();
+        double ticksToWallX = ticksToArenaLimit(firedFrom.getX(), bulletVector.getX(), arenaWidth);
+        double ticksToWallY = ticksToArenaLimit(firedFrom.getY(), bulletVector.getY(), arenaHeight);
+
+        return getFiredOnTick() + (long) Math.floor(Math.min(ticksToWallX, ticksToWallY)) + 1;
+    }
+
+    /**
+     * Calculates how many ticks a coordinate takes to reach the arena limits along one axis
+     * @param position Initial coordinate
+     * @param velocity Velocity component along the axis
+     * @param limit Arena dimension along the axis
+     * @return Ticks until reaching the limit, infinite if not moving along the axis
+     */
+    private static double ticksToArenaLimit(double position, double velocity, double limit) {
+        if (velocity > 0) {
+            return (limit - position) / velocity;
+        }
+
+        else if (velocity < 0) {
+            return -position / velocity;
+        }
+
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Bullets are identified by shooter and tick on which they were shot
+     * @param o Object to compare
+     * @return True if both represent the same bullet
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BulletInfo)) return false;
+
+        BulletInfo other = (BulletInfo) o;
+        return Objects.equals(shooter, other.shooter) && Objects.equals(firedOnTick, other.firedOnTick);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(shooter, firedOnTick);
+    }
+
+    /**
+     * Writes bullet information in fixed width primitives, without the robocode Bullet
+     * @param out Output to write to
+     * @param roster Roster to write robot ids
+     * @throws IOException If output fails
+     */
+    public void writeTo(DataOutput out, Roster roster) throws IOException {
+        out.writeBoolean(fired);
+        out.writeDouble(firedAngle);
+        out.writeDouble(bulletVelocity);
+        roster.writeName(out, shooter);
+        out.writeLong(firedOnTick);
+        firedFrom.writeTo(out);
+        out.writeDouble(arenaWidth);
+        out.writeDouble(arenaHeight);
+    }
+
+    /**
+     * Reads BulletInfo written by writeTo
+     * @param in Input to read from
+     * @param roster Roster to read robot ids
+     * @param sender Id of the teammate that wrote it
+     * @return BulletInfo read
+     * @throws IOException If input fails
+     */
+    public static BulletInfo readFrom(DataInput in, Roster roster, int sender) throws IOException {
+        return new BulletInfo(in.readBoolean(), in.readDouble(), in.readDouble(), roster.readName(in, sender), in.readLong(), Location.readFrom(in), in.readDouble(), in.readDouble());
+    }
 }
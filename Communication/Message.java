@@ -1,21 +1,42 @@
 package sa_robocode.Communication;
 
 import sa_robocode.Helpers.Location;
-import sa_robocode.Helpers.Tracker;
+import sa_robocode.Helpers.Roster;
 
-import java.io.Serializable;
-import java.util.Set;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Implementation of class to send messages between robots
+ * Messages are written with a compact binary codec: a type tag followed only by the fields that type needs
+ * They travel to teammates inside an Outbox envelope
  */
-public class Message implements Serializable {
-    private final MessageType messageType;
-    private final BulletInfo bulletInfo;
-    private final ScanInfo scanInfo;
-    private final TeammateInfo teammateInfo;
-    private final Set<Tracker> bounties;
-    private final Location location;
+public class Message {
+    private static final double ANGLE_SCALE = 100;
+    private static final double VELOCITY_SCALE = 1000;
+
+    private MessageType messageType;
+    private BulletInfo bulletInfo;
+    private ScanInfo scanInfo;
+    private TeammateInfo teammateInfo;
+    private BountyUpdate bounties;
+    private Location location;
+    private Map<String, String> radarAssignment;
+    private long tick;
+    private double heading;
+    private double velocity;
+    private double turnRate;
+    private int digest;
+
+    /**
+     * Creates empty instance of Message, to be filled by readFrom
+     */
+    private Message() {
+        this((MessageType) null);
+    }
 
     /**
      * Creates instance of Message only with MessageType, no other content
@@ -28,6 +49,8 @@ public class Message implements Serializable {
         this.teammateInfo = null;
         this.bounties = null;
         this.location = null;
+        this.radarAssignment = null;
+        this.tick = 0;
     }
 
     /**
@@ -41,6 +64,8 @@ public class Message implements Serializable {
         this.teammateInfo = null;
         this.bounties = null;
         this.location = null;
+        this.radarAssignment = null;
+        this.tick = 0;
     }
 
     /**
@@ -54,6 +79,8 @@ public class Message implements Serializable {
         this.teammateInfo = null;
         this.bounties = null;
         this.location = null;
+        this.radarAssignment = null;
+        this.tick = 0;
     }
 
 
@@ -68,25 +95,78 @@ public class Message implements Serializable {
         this.scanInfo = null;
         this.bounties = null;
         this.location = null;
+        this.radarAssignment = null;
+        this.tick = 0;
     }
 
-    public Message(Set<Tracker> bounties) {
+    /**
+     * Creates instance of Message with a version of the bounty ranking, from most wanted to least wanted
+     * @param bounties BountyUpdate published by the leader
+     */
+    public Message(BountyUpdate bounties) {
         this.messageType = MessageType.BOUNTIES_INFO;
         this.bounties = bounties;
         this.teammateInfo = null;
         this.bulletInfo = null;
         this.scanInfo = null;
         this.location = null;
+        this.radarAssignment = null;
+        this.tick = 0;
     }
 
 
-    public Message(Location location) {
+    /**
+     * Creates instance of Message with the sender state, for teammates to extrapolate it
+     * @param location Sender location
+     * @param tick Tick when sender was on location
+     * @param heading Sender heading
+     * @param velocity Sender velocity
+     * @param turnRate Sender heading variation per tick
+     */
+    public Message(Location location, long tick, double heading, double velocity, double turnRate) {
         this.messageType = MessageType.LOCATION_UPDATE;
         this.location = location;
         this.bounties = null;
         this.bulletInfo = null;
         this.scanInfo = null;
         this.teammateInfo = null;
+        this.radarAssignment = null;
+        this.tick = tick;
+        this.heading = heading;
+        this.velocity = velocity;
+        this.turnRate = turnRate;
+    }
+
+    /**
+     * Creates instance of Message with the radar assignment decided by the leader
+     * @param radarAssignment Map from enemy name to the name of the teammate watching it
+     */
+    public Message(Map<String, String> radarAssignment) {
+        this.messageType = MessageType.RADAR_ASSIGNMENT;
+        this.radarAssignment = radarAssignment;
+        this.tick = 0;
+        this.location = null;
+        this.bounties = null;
+        this.bulletInfo = null;
+        this.scanInfo = null;
+        this.teammateInfo = null;
+    }
+
+    /**
+     * Creates instance of Message with the digest of the bounty ranking made by the sender
+     * @param digest Ranking digest
+     * @param tick Tick when ranking was made
+     */
+    public Message(int digest, long tick) {
+        this.messageType = MessageType.RANKING_DIGEST;
+        this.digest = digest;
+        this.tick = tick;
+        this.radarAssignment = null;
+        this.location = null;
+        this.bounties = null;
+        this.bulletInfo = null;
+        this.scanInfo = null;
+        this.teammateInfo = null;
     }
 
     /**
@@ -133,7 +213,133 @@ public class Message implements Serializable {
         return location;
     }
 
-    public Set<Tracker> getBounties() {
+    public BountyUpdate getBounties() {
         return bounties;
     }
+
+    public Map<String, String> getRadarAssignment() {
+        return radarAssignment;
+    }
+
+    public int getDigest() {
+        return digest;
+    }
+
+    /**
+     * Gets tick when information was gathered
+     * Only set for LOCATION_UPDATE and RANKING_DIGEST messages
+     * @return Tick of the information
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    public double getHeading() {
+        return heading;
+    }
+
+    public double getVelocity() {
+        return velocity;
+    }
+
+    public double getTurnRate() {
+        return turnRate;
+    }
+
+    /**
+     * Writes message type tag and the fields used by that type
+     * Sender location goes in position stream 0, scanned robots have their own streams
+     * @param out Output to write to
+     * @param roster Roster to write robot ids
+     * @param positions Position streams of the writer
+     * @throws IOException If output fails
+     */
+    public void writeTo(DataOutput out, Roster roster, PositionStream positions) throws IOException {
+        out.writeByte(messageType.ordinal());
+
+        switch (messageType) {
+            case BULLET_INFO -> bulletInfo.writeTo(out, roster);
+
+            case SCAN_INFO -> scanInfo.writeTo(out, roster, positions);
+
+            case STATUS_INFO, TEAMMATE_REGISTER -> teammateInfo.writeTo(out, roster);
+
+            case BOUNTIES_INFO -> bounties.writeTo(out, roster);
+
+            case LOCATION_UPDATE -> {
+                positions.write(out, 0, location);
+                out.writeLong(tick);
+                out.writeShort((int) Math.round(heading * ANGLE_SCALE));
+                out.writeShort((int) Math.round(velocity * VELOCITY_SCALE));
+                out.writeShort((int) Math.round(turnRate * VELOCITY_SCALE));
+            }
+
+            case RADAR_ASSIGNMENT -> {
+                out.writeShort(radarAssignment.size());
+                for (Map.Entry<String, String> entry : radarAssignment.entrySet()) {
+                    roster.writeName(out, entry.getKey());
+                    roster.writeName(out, entry.getValue());
+                }
+            }
+
+            case RANKING_DIGEST -> {
+                out.writeLong(tick);
+                out.writeInt(digest);
+            }
+        }
+    }
+
+    /**
+     * Reads message written by writeTo
+     * @param in Input to read from
+     * @param roster Roster to read robot ids
+     * @param sender Id of the teammate that wrote it
+     * @param positions Position streams of the reader
+     * @return Message read, null if a location in it could not be decoded
+     * @throws IOException If input fails
+     */
+    public static Message readFrom(DataInput in, Roster roster, int sender, PositionStream positions) throws IOException {
+        Message message = new Message();
+        message.read(in, roster, sender, positions);
+
+        boolean missingLocation = (message.messageType == MessageType.SCAN_INFO && message.scanInfo == null)
+                || (message.messageType == MessageType.LOCATION_UPDATE && message.location == null);
+
+        return missingLocation ? null : message;
+    }
+
+    private void read(DataInput in, Roster roster, int sender, PositionStream positions) throws IOException {
+        messageType = MessageType.values()[in.readByte()];
+
+        switch (messageType) {
+            case BULLET_INFO -> bulletInfo = BulletInfo.readFrom(in, roster, sender);
+
+            case SCAN_INFO -> scanInfo = ScanInfo.readFrom(in, roster, sender, positions);
+
+            case STATUS_INFO, TEAMMATE_REGISTER -> teammateInfo = TeammateInfo.readFrom(in, roster, sender);
+
+            case BOUNTIES_INFO -> bounties = BountyUpdate.readFrom(in, roster, sender);
+
+            case LOCATION_UPDATE -> {
+                location = positions.read(in, sender, 0);
+                tick = in.readLong();
+                heading = in.readUnsignedShort() / ANGLE_SCALE;
+                velocity = in.readShort() / VELOCITY_SCALE;
+                turnRate = in.readShort() / VELOCITY_SCALE;
+            }
+
+            case RADAR_ASSIGNMENT -> {
+                int size = in.readUnsignedShort();
+                radarAssignment = new LinkedHashMap<>();
+                for (int i=0; i<size; i++) {
+                    radarAssignment.put(roster.readName(in, sender), roster.readName(in, sender));
+                }
+            }
+
+            case RANKING_DIGEST -> {
+                tick = in.readLong();
+                digest = in.readInt();
+            }
+        }
+    }
 }
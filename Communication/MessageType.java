@@ -9,8 +9,9 @@ public enum MessageType implements Serializable {
     BULLET_INFO,
     SCAN_INFO,
     STATUS_INFO,
-    GUN_READY_INFO,
     BOUNTIES_INFO,
     TEAMMATE_REGISTER,
-    LOCATION_UPDATE
+    LOCATION_UPDATE,
+    RADAR_ASSIGNMENT,
+    RANKING_DIGEST
 }
\ No newline at end of file
@@ -0,0 +1,345 @@
+package sa_robocode.Communication;
+
+import robocode.TeamRobot;
+import sa_robocode.Helpers.Roster;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class implementation to batch messages sent during a tick
+ * Messages are collected and flushed at the end of the tick, as one envelope per recipient,
+ * so each tick costs at most one broadcast plus one direct message per teammate
+ * Robots are written as roster ids, and every envelope starts with the names of ids new in that tick
+ * Positions are delta encoded, so the outbox keeps the position streams of both sides
+ * Messages are written by priority, and each tick has a byte budget plus a count budget per type.
+ * Critical types are always sent, the rest wait for a later tick when over budget, and are dropped when too old.
+ * A queued update that a newer one supersedes, like an older location, is replaced instead of queued twice
+ */
+public class Outbox {
+    public static final int TICK_BYTE_BUDGET = 1024;
+    public static final long MAX_DEFER_TICKS = 3;
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    /**
+     * Scheduling policy of a message type
+     */
+    private static final class Policy {
+        private final int priority;
+        private final boolean critical;
+        private final int countBudget;
+
+        private Policy(int priority, boolean critical, int countBudget) {
+            this.priority = priority;
+            this.critical = critical;
+            this.countBudget = countBudget;
+        }
+    }
+
+    private static final Map<MessageType, Policy> POLICIES = new EnumMap<>(MessageType.class);
+
+    static {
+        // Bullets come first, as teammates need them to avoid friendly fire
+        POLICIES.put(MessageType.BULLET_INFO, new Policy(0, true, UNLIMITED));
+        POLICIES.put(MessageType.TEAMMATE_REGISTER, new Policy(1, true, UNLIMITED));
+        POLICIES.put(MessageType.STATUS_INFO, new Policy(1, true, UNLIMITED));
+        POLICIES.put(MessageType.RADAR_ASSIGNMENT, new Policy(2, true, UNLIMITED));
+
+        // Ranking diffs only apply in sequence, so they can not be dropped
+        POLICIES.put(MessageType.BOUNTIES_INFO, new Policy(2, true, UNLIMITED));
+
+        // Reports are the pings every robot ranks from, so they are never held back, dropped or merged
+        POLICIES.put(MessageType.SCAN_INFO, new Policy(3, true, UNLIMITED));
+        POLICIES.put(MessageType.RANKING_DIGEST, new Policy(4, false, 1));
+        POLICIES.put(MessageType.LOCATION_UPDATE, new Policy(5, false, 1));
+    }
+
+    /**
+     * Message waiting to be sent
+     */
+    private static final class Pending {
+        private Message message;
+        private final String recipient;
+        private final String key;
+        private long queued;
+
+        private Pending(Message message, String recipient, String key, long queued) {
+            this.message = message;
+            this.recipient = recipient;
+            this.key = key;
+            this.queued = queued;
+        }
+    }
+
+    /**
+     * Envelope body being written for one recipient
+     */
+    private static final class Body {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream data = new DataOutputStream(bytes);
+        private int count = 0;
+    }
+
+    private final Roster roster;
+    private final PositionStream positions = new PositionStream();
+    private final List<Pending> queue = new ArrayList<>();
+    private final Map<String, Pending> superseding = new HashMap<>();
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final DataOutputStream data = new DataOutputStream(buffer);
+    private Message sentLocation = null;
+
+    private long ticks = 0;
+    private long messagesSent = 0;
+    private long envelopesSent = 0;
+    private long bytesSent = 0;
+    private long deferred = 0;
+    private long dropped = 0;
+    private long merged = 0;
+
+    /**
+     * Constructor
+     * @param roster Roster to write robot ids
+     */
+    public Outbox(Roster roster) {
+        this.roster = roster;
+    }
+
+    /**
+     * Queues message to entire team
+     * @param message Message to send
+     */
+    public void broadcast(Message message) {
+        enqueue(message, null);
+    }
+
+    /**
+     * Queues message to a specific teammate
+     * @param teammate Teammate name
+     * @param message Message to send
+     */
+    public void send(String teammate, Message message) {
+        enqueue(message, teammate);
+    }
+
+    private void enqueue(Message message, String recipient) {
+        String key = getSupersedeKey(message, recipient);
+        Pending pending = key == null ? null : superseding.get(key);
+
+        // Newer update takes the place of the queued one
+        if (pending != null) {
+            pending.message = message;
+            pending.queued = ticks;
+            merged++;
+            return;
+        }
+
+        pending = new Pending(message, recipient, key, ticks);
+        queue.add(pending);
+        if (key != null) {
+            superseding.put(key, pending);
+        }
+    }
+
+    /**
+     * Gets key of the updates a message supersedes, which are the ones of the same type and recipient
+     * @param message Message queued
+     * @param recipient Teammate name, null for the entire team
+     * @return Key, null if message never supersedes another
+     */
+    private static String getSupersedeKey(Message message, String recipient) {
+        return switch (message.getMessageType()) {
+            case LOCATION_UPDATE, RANKING_DIGEST -> message.getMessageType().ordinal() + ":" + recipient;
+            default -> null;
+        };
+    }
+
+    /**
+     * Sends queued messages by priority within the budgets, one envelope for the team and one for each teammate with direct messages
+     * New ids are announced in every envelope, and the team envelope is sent even without messages if needed,
+     * so every teammate learns them
+     * @param robot Robot sending the messages
+     */
+    public void flush(TeamRobot robot) {
+        sentLocation = null;
+
+        try {
+            // Stable sort keeps queue order within the same priority
+            queue.sort(Comparator.comparingInt(pending -> POLICIES.get(pending.message.getMessageType()).priority));
+
+            Body broadcastBody = new Body();
+            Map<String, Body> directBodies = new LinkedHashMap<>();
+            Map<MessageType, Integer> counts = new EnumMap<>(MessageType.class);
+            List<Pending> waiting = new ArrayList<>();
+            int bytes = 0;
+
+            for (Pending pending : queue) {
+                MessageType type = pending.message.getMessageType();
+                Policy policy = POLICIES.get(type);
+                int count = counts.getOrDefault(type, 0);
+
+                if (!policy.critical) {
+                    if (ticks - pending.queued > MAX_DEFER_TICKS) {
+                        dropped++;
+                        forget(pending);
+                        continue;
+                    }
+
+                    if (count >= policy.countBudget || bytes >= TICK_BYTE_BUDGET) {
+                        deferred++;
+                        waiting.add(pending);
+                        continue;
+                    }
+                }
+
+                // Messages are written before the envelope header, as they may give ids to robots
+                Body body = pending.recipient == null ? broadcastBody : directBodies.computeIfAbsent(pending.recipient, name -> new Body());
+                int before = body.bytes.size();
+                pending.message.writeTo(body.data, roster, positions);
+                body.data.flush();
+                body.count++;
+
+                bytes += body.bytes.size() - before;
+                counts.put(type, count + 1);
+                forget(pending);
+
+                if (type == MessageType.LOCATION_UPDATE) {
+                    sentLocation = pending.message;
+                }
+            }
+
+            queue.clear();
+            queue.addAll(waiting);
+
+            if (broadcastBody.count > 0 || roster.hasPendingAnnouncements()) {
+                robot.broadcastMessage(pack(broadcastBody.count, broadcastBody.bytes.toByteArray()));
+            }
+
+            for (Map.Entry<String, Body> entry : directBodies.entrySet()) {
+                robot.sendMessage(entry.getKey(), pack(entry.getValue().count, entry.getValue().bytes.toByteArray()));
+            }
+
+            roster.markAnnounced();
+        }
+        catch (IOException e) {
+            sentLocation = null;
+            System.out.println(e.getMessage());
+        }
+
+        ticks++;
+    }
+
+    private void forget(Pending pending) {
+        if (pending.key != null && superseding.get(pending.key) == pending) {
+            superseding.remove(pending.key);
+        }
+    }
+
+    private byte[] pack(int count, byte[] body) throws IOException {
+        buffer.reset();
+        roster.writeAnnouncements(data);
+        data.writeShort(count);
+        data.write(body);
+
+        data.flush();
+        byte[] envelope = buffer.toByteArray();
+
+        messagesSent += count;
+        envelopesSent++;
+        bytesSent += envelope.length;
+
+        return envelope;
+    }
+
+    /**
+     * Reads messages from a received envelope
+     * Messages with locations that could not be decoded are left out
+     * @param envelope Envelope sent by a teammate Outbox
+     * @param sender Name of the teammate that sent the envelope
+     * @return Messages in the order they were queued
+     * @throws IOException If envelope is malformed
+     */
+    public List<Message> unpack(byte[] envelope, String sender) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(envelope));
+        int senderId = roster.getId(sender);
+
+        roster.readAnnouncements(in, senderId);
+
+        int size = in.readUnsignedShort();
+        List<Message> messages = new ArrayList<>(size);
+
+        for (int i=0; i<size; i++) {
+            Message message = Message.readFrom(in, roster, senderId, positions);
+            if (message != null) {
+                messages.add(message);
+            }
+        }
+
+        return messages;
+    }
+
+    /**
+     * Gets location update sent on the last flush, which is the state teammates now extrapolate
+     * @return LOCATION_UPDATE message, null if none was sent
+     */
+    public Message getSentLocation() {
+        return sentLocation;
+    }
+
+    /**
+     * Gets average number of messages sent per tick
+     * @return Messages per tick
+     */
+    public double getMessagesPerTick() {
+        return ticks == 0 ? 0 : (double) messagesSent / ticks;
+    }
+
+    /**
+     * Gets average number of envelopes sent per tick
+     * @return Envelopes per tick
+     */
+    public double getEnvelopesPerTick() {
+        return ticks == 0 ? 0 : (double) envelopesSent / ticks;
+    }
+
+    /**
+     * Gets average number of envelope bytes sent per tick
+     * @return Bytes per tick
+     */
+    public double getBytesPerTick() {
+        return ticks == 0 ? 0 : (double) bytesSent / ticks;
+    }
+
+    /**
+     * Gets number of times a message was left for a later tick, for being over budget
+     * @return Deferrals
+     */
+    public long getDeferred() {
+        return deferred;
+    }
+
+    /**
+     * Gets number of messages dropped, for waiting longer than MAX_DEFER_TICKS
+     * @return Messages dropped
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Gets number of queued messages replaced by a newer one
+     * @return Messages merged
+     */
+    public long getMerged() {
+        return merged;
+    }
+}
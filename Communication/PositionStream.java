@@ -0,0 +1,152 @@
+package sa_robocode.Communication;
+
+import sa_robocode.Helpers.Location;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Class implementation of quantized delta encoding for streams of positions
+ * Each stream sends a keyframe with absolute coordinates periodically, and in between only the difference
+ * to the last position sent, which fits a byte per coordinate as robots move at most 8 pixels per tick.
+ * Frames carry a sequence number, so a decoder that misses a frame ignores the stream until the next keyframe
+ */
+public class PositionStream {
+    public static final double QUANTUM = 0.125;
+    private static final int KEYFRAME_PERIOD = 16;
+    private static final int MAX_COORDINATE = 0xFFFF;
+    private static final int SEQUENCE_MASK = 0x3F;
+    private static final int KEYFRAME = 0x40;
+    private static final int INITIAL_STREAMS = 16;
+
+    /**
+     * State of one stream, on either side
+     */
+    private static final class State {
+        private int x;
+        private int y;
+        private int sequence = -1;
+        private int sinceKeyframe = 0;
+        private boolean valid = false;
+    }
+
+    private State[] encoders = new State[INITIAL_STREAMS];
+    private State[][] decoders = new State[INITIAL_STREAMS][];
+
+    /**
+     * Writes next position of a stream
+     * @param out Output to write to
+     * @param stream Stream number, chosen by the writer
+     * @param location Position to write
+     * @throws IOException If output fails
+     */
+    public void write(DataOutput out, int stream, Location location) throws IOException {
+        if (stream >= encoders.length) {
+            encoders = Arrays.copyOf(encoders, Math.max(stream + 1, encoders.length * 2));
+        }
+
+        State state = encoders[stream];
+        if (state == null) {
+            state = encoders[stream] = new State();
+        }
+
+        int x = quantize(location.getX());
+        int y = quantize(location.getY());
+        int dx = x - state.x;
+        int dy = y - state.y;
+        state.sequence = (state.sequence + 1) & SEQUENCE_MASK;
+
+        // Keyframe if stream just started, is due one, or moved too much for a delta
+        if (!state.valid || state.sinceKeyframe >= KEYFRAME_PERIOD || dx != (byte) dx || dy != (byte) dy) {
+            out.writeByte(KEYFRAME | state.sequence);
+            out.writeShort(x);
+            out.writeShort(y);
+            state.sinceKeyframe = 0;
+            state.valid = true;
+        }
+
+        else {
+            out.writeByte(state.sequence);
+            out.writeByte(dx);
+            out.writeByte(dy);
+            state.sinceKeyframe++;
+        }
+
+        state.x = x;
+        state.y = y;
+    }
+
+    /**
+     * Reads next position of a stream
+     * @param in Input to read from
+     * @param sender Id of the teammate that wrote it
+     * @param stream Stream number, as chosen by the writer
+     * @return Position, null if a frame was missed since the last keyframe
+     * @throws IOException If input fails
+     */
+    public Location read(DataInput in, int sender, int stream) throws IOException {
+        State state = getDecoder(sender, stream);
+        int header = in.readUnsignedByte();
+        int sequence = header & SEQUENCE_MASK;
+
+        if ((header & KEYFRAME) != 0) {
+            state.x = in.readUnsignedShort();
+            state.y = in.readUnsignedShort();
+            state.valid = true;
+        }
+
+        else {
+            int dx = in.readByte();
+            int dy = in.readByte();
+
+            // Deltas only apply right after the previous frame
+            if (state.valid && sequence == ((state.sequence + 1) & SEQUENCE_MASK)) {
+                state.x += dx;
+                state.y += dy;
+            }
+
+            else {
+                state.valid = false;
+            }
+        }
+
+        state.sequence = sequence;
+        return state.valid ? new Location(state.x * QUANTUM, state.y * QUANTUM) : null;
+    }
+
+    private State getDecoder(int sender, int stream) {
+        if (sender >= decoders.length) {
+            decoders = Arrays.copyOf(decoders, Math.max(sender + 1, decoders.length * 2));
+        }
+
+        State[] streams = decoders[sender];
+        if (streams == null) {
+            streams = decoders[sender] = new State[INITIAL_STREAMS];
+        }
+
+        if (stream >= streams.length) {
+            streams = decoders[sender] = Arrays.copyOf(streams, Math.max(stream + 1, streams.length * 2));
+        }
+
+        if (streams[stream] == null) {
+            streams[stream] = new State();
+        }
+
+        return streams[stream];
+    }
+
+    /**
+     * Rounds a position to the precision it has after decoding, so local and received positions match exactly
+     * @param location Position to round
+     * @return Rounded position
+     */
+    public static Location round(Location location) {
+        return new Location(quantize(location.getX()) * QUANTUM, quantize(location.getY()) * QUANTUM);
+    }
+
+    private static int quantize(double coordinate) {
+        return (int) Math.max(0, Math.min(MAX_COORDINATE, Math.round(coordinate / QUANTUM)));
+    }
+}
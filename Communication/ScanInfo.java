@@ -2,6 +2,10 @@ package sa_robocode.Communication;
 
 import robocode.ScannedRobotEvent;
 import sa_robocode.Helpers.Location;
+import sa_robocode.Helpers.Roster;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 
 /**
@@ -36,4 +40,46 @@ public class ScanInfo implements Serializable {
     public ScannedRobotEvent getScannedRobotEvent() {
         return scannedRobotEvent;
     }
+
+    /**
+     * Writes scanned robot location and the event fields in fixed width primitives
+     * Location goes in the position stream of the scanned robot
+     * @param out Output to write to
+     * @param roster Roster to write robot ids
+     * @param positions Position streams of the writer
+     * @throws IOException If output fails
+     */
+    public void writeTo(DataOutput out, Roster roster, PositionStream positions) throws IOException {
+        int id = roster.getId(scannedRobotEvent.getName());
+        out.writeShort(id);
+        positions.write(out, id + 1, location);
+        out.writeLong(scannedRobotEvent.getTime());
+        out.writeDouble(scannedRobotEvent.getEnergy());
+        out.writeDouble(scannedRobotEvent.getBearing());
+        out.writeDouble(scannedRobotEvent.getDistance());
+        out.writeDouble(scannedRobotEvent.getHeading());
+        out.writeDouble(scannedRobotEvent.getVelocity());
+        out.writeBoolean(scannedRobotEvent.isSentryRobot());
+    }
+
+    /**
+     * Reads ScanInfo written by writeTo, rebuilding the ScannedRobotEvent
+     * @param in Input to read from
+     * @param roster Roster to read robot ids
+     * @param sender Id of the teammate that wrote it
+     * @param positions Position streams of the reader
+     * @return ScanInfo read, null if its location could not be decoded
+     * @throws IOException If input fails
+     */
+    public static ScanInfo readFrom(DataInput in, Roster roster, int sender, PositionStream positions) throws IOException {
+        int remote = in.readUnsignedShort();
+        String name = roster.translate(sender, remote);
+        Location location = positions.read(in, sender, remote + 1);
+        long time = in.readLong();
+
+        ScannedRobotEvent sre = new ScannedRobotEvent(name, in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble(), in.readBoolean());
+        sre.setTime(time);
+
+        return location == null ? null : new ScanInfo(location, sre);
+    }
 }
@@ -1,6 +1,10 @@
 package sa_robocode.Communication;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
+import sa_robocode.Helpers.Roster;
 import sa_robocode.robots.RobotType;
 
 public class TeammateInfo implements Serializable {
@@ -40,4 +44,28 @@ public class TeammateInfo implements Serializable {
     public Double getEnergy() {
         return energy;
     }
+
+    /**
+     * Writes teammate information, leader priority is derived from robot type
+     * @param out Output to write to
+     * @param roster Roster to write robot ids
+     * @throws IOException If output fails
+     */
+    public void writeTo(DataOutput out, Roster roster) throws IOException {
+        roster.writeName(out, name);
+        out.writeByte(robotType.ordinal());
+        out.writeDouble(energy);
+    }
+
+    /**
+     * Reads TeammateInfo written by writeTo
+     * @param in Input to read from
+     * @param roster Roster to read robot ids
+     * @param sender Id of the teammate that wrote it
+     * @return TeammateInfo read
+     * @throws IOException If input fails
+     */
+    public static TeammateInfo readFrom(DataInput in, Roster roster, int sender) throws IOException {
+        return new TeammateInfo(roster.readName(in, sender), RobotType.values()[in.readByte()], in.readDouble());
+    }
 }
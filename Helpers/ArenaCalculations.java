@@ -1,7 +1,5 @@
 package sa_robocode.Helpers;
 
-import java.awt.geom.Path2D;
-import java.awt.geom.Point2D;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -61,6 +59,18 @@ public class ArenaCalculations {
         return sumToAngle(angleToLocation, -POLAR_TO_ARENA_ANGLE_OFFSET);
     }
 
+    /**
+     * Given origin and location coordinates, calculates the arena angle from origin to location, without allocations
+     * @param originX Origin X coordinate
+     * @param originY Origin Y coordinate
+     * @param x Target X coordinate
+     * @param y Target Y coordinate
+     * @return Angle in degrees, of target location from input origin (from Y axis, clockwise)
+     */
+    public static double angleFromOriginToLocation(double originX, double originY, double x, double y) {
+        return sumToAngle(Math.toDegrees(Math.atan2(x - originX, y - originY)), 0);
+    }
+
     /**
      * Calculates the necessary rotation between two angles, clockwise
      * @param from Starting angle
@@ -136,21 +146,7 @@ public class ArenaCalculations {
     }
 
     public static boolean isLocationInsideRobot(Location robot, double robotHeading, Location location, double tolerance) {
-        List<Location> robotEdges = getEdgesFromCenterLocation(robot, robotHeading, tolerance);
-        Path2D robotLimits = new Path2D.Double();
-
-        Location leftEdge = ArenaCalculations.getEdge(robotEdges, false, true, true);
-        Location rightEdge = ArenaCalculations.getEdge(robotEdges, false, false, false);
-        Location bottomEdge = ArenaCalculations.getEdge(robotEdges, true, true, false);
-        Location topEdge = ArenaCalculations.getEdge(robotEdges, true, false, true);
-
-        robotLimits.moveTo(topEdge.getX(), topEdge.getY());
-        robotLimits.lineTo(rightEdge.getX(), rightEdge.getY());
-        robotLimits.lineTo(bottomEdge.getX(), bottomEdge.getY());
-        robotLimits.lineTo(leftEdge.getX(), leftEdge.getY());
-        robotLimits.closePath();
-
-        return robotLimits.contains(new Point2D.Double(location.getX(), location.getY()));
+        return CollisionKernels.isInsideRobot(robot.getX(), robot.getY(), robotHeading, location.getX(), location.getY(), tolerance);
     }
 
     // For example, to get top edge, and the one to the left if there are two edges with same Y:
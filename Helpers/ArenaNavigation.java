@@ -3,125 +3,107 @@ package sa_robocode.Helpers;
 import sa_robocode.Communication.TeammateInfo;
 import sa_robocode.robots.RobotType;
 
-import java.awt.geom.Path2D;
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class ArenaNavigation {
     public static final Double MIN_DISTANCE_TO_WALLS = 95.0;
-    private static final Double MIN_DISTANCE_TO_TEAMMATE = 80.0;
 
-    private final Map<String, Location> teammatesTracking;
     private final Map<String, TeammateInfo> teamStatus;
     private final double arenaWidth;
     private final double arenaHeight;
-    private Zone zone;
-
-    private enum Zone {
-        QUADRANT_0, // BOTTOM LEFT
-        QUADRANT_1, // BOTTOM RIGHT
-        QUADRANT_2, // TOP RIGHT
-        QUADRANT_3, // TOP LEFT
-        FULL_ARENA
-    }
-
-    public ArenaNavigation(Map<String, Location> teammatesTracking, Map<String, TeammateInfo> teamStatus, double arenaWidth, double arenaHeight, String name) {
-        this.teammatesTracking = teammatesTracking;
+    private final String name;
+    private final ZonePartitioner partitioner;
+    private boolean fullArena;
+    private Location zoneCenter;
+    private double zoneMinX;
+    private double zoneMinY;
+    private double zoneMaxX;
+    private double zoneMaxY;
+
+    public ArenaNavigation(Map<String, TeammateInfo> teamStatus, double arenaWidth, double arenaHeight, String name) {
         this.teamStatus = teamStatus;
         this.arenaWidth = arenaWidth;
         this.arenaHeight = arenaHeight;
-        this.zone = getZoneFromName(name);
+        this.name = name;
+        this.partitioner = new ZonePartitioner(arenaWidth, arenaHeight);
+        updateZones();
     }
 
-    public void updateZone(String deadTeammate) {
+    /**
+     * Recomputes zones when teammates join or die, zone limits are then cached for queries
+     */
+    public void updateZones() {
         boolean anyCaptains = teamStatus.values().stream().anyMatch(a -> a.getRobotType() == RobotType.CAPTAIN);
+        fullArena = true;
+        zoneMinX = 0;
+        zoneMinY = 0;
+        zoneMaxX = arenaWidth;
+        zoneMaxY = arenaHeight;
 
         if (anyCaptains) {
-            if (zone == Zone.FULL_ARENA) {
-                zone = getZoneFromName(deadTeammate);
+            Set<String> team = new HashSet<>(teamStatus.keySet());
+            team.add(name);
+            partitioner.partition(team);
+
+            double[] bounds = partitioner.getZone(name);
+            if (bounds != null) {
+                fullArena = false;
+                zoneMinX = bounds[0];
+                zoneMinY = bounds[1];
+                zoneMaxX = bounds[2];
+                zoneMaxY = bounds[3];
             }
         }
 
-        else {
-            zone = Zone.FULL_ARENA;
-        }
-    }
-
-    public Zone getZoneFromName(String name) {
-        int number = Integer.parseInt(String.valueOf(name.charAt(name.length()-2)));
-        return Zone.values()[number % 5];
-    }
-
-    public Location tooCloseToTeammate(Location robot) {
-        for (Location teammate: teammatesTracking.values()) {
-            if (teammate.distanceTo(robot) < MIN_DISTANCE_TO_TEAMMATE) {
-                return teammate;
-            }
-        }
-
-        return null;
+        zoneCenter = new Location((zoneMinX + zoneMaxX)/2, (zoneMinY + zoneMaxY)/2);
     }
 
     public boolean zoneIsFullArena() {
-        return zone == Zone.FULL_ARENA;
+        return fullArena;
     }
 
     public Location adjustLocToZone(Location original) {
-        Location adjusted = original.clone();
-
-        switch (this.zone) {
-            case QUADRANT_1 -> adjusted = new Location(original.getX() - arenaWidth/2, original.getY());
-            case QUADRANT_2 -> adjusted = new Location(original.getX() - arenaWidth/2, original.getY() - arenaHeight/2);
-            case QUADRANT_3 -> adjusted = new Location(original.getX(), original.getY() - arenaHeight/2);
-        }
-
-        return adjusted;
+        return new Location(original.getX() - zoneMinX, original.getY() - zoneMinY);
     }
 
     public List<Location> getWallsOrderedByDistance(Location location, boolean zoneAdjusted) {
         Location adjustedLocation = zoneAdjusted ? adjustLocToZone(location) : location;
-        int adjustWalls = zoneAdjusted && (zone != Zone.FULL_ARENA) ? 2 : 1;
+        double width = zoneAdjusted ? zoneMaxX - zoneMinX : arenaWidth;
+        double height = zoneAdjusted ? zoneMaxY - zoneMinY : arenaHeight;
 
         List<Location> walls = new ArrayList<>();
-        walls.add(new Location(adjustedLocation.getX(), arenaHeight/adjustWalls));
+        walls.add(new Location(adjustedLocation.getX(), height));
         walls.add(new Location(adjustedLocation.getX(), 0.0));
         walls.add(new Location(0.0, adjustedLocation.getY()));
-        walls.add(new Location(arenaWidth/adjustWalls, adjustedLocation.getY()));
+        walls.add(new Location(width, adjustedLocation.getY()));
         walls.sort(Comparator.comparingDouble(o -> o.distanceTo(adjustedLocation)));
 
         return walls;
     }
 
     public Location getCenterOfZone() {
-        Location zoneCenter = new Location(arenaWidth/2, arenaHeight/2);
-
-        switch (zone) {
-            case QUADRANT_0 -> zoneCenter = new Location(arenaWidth/4, arenaHeight/4);
-            case QUADRANT_1 -> zoneCenter = new Location(3*arenaWidth/4, arenaHeight/4);
-            case QUADRANT_2 -> zoneCenter = new Location(3*arenaWidth/4, 3*arenaHeight/4);
-            case QUADRANT_3 -> zoneCenter = new Location(arenaWidth/4, 3*arenaHeight/4);
-        }
-
         return zoneCenter;
     }
 
     public boolean isInsideOfZone(Location location) {
-        if (zone == Zone.FULL_ARENA) return true;
+        return isInsideOfZone(location.getX(), location.getY());
+    }
 
-        Location adjustedLocation = adjustLocToZone(location);
+    public boolean isInsideOfZone(double x, double y) {
+        if (fullArena) return true;
 
-        return (adjustedLocation.getX() > 0) && (adjustedLocation.getX() < arenaWidth/2)
-                && (adjustedLocation.getY() > 0) && (adjustedLocation.getY() < arenaHeight/2);
+        return (x > zoneMinX) && (x < zoneMaxX) && (y > zoneMinY) && (y < zoneMaxY);
     }
 
 
-    public Double getTargetHeading(Location robot) {
-        if (!isInsideOfZone(robot)) {
+    public Double getTargetHeading(NavigationFrame frame) {
+        if (!frame.isInsideOfZone()) {
             return null;
         }
 
-        Location adjustedRobot = adjustLocToZone(robot);
-        List<Location> walls = getWallsOrderedByDistance(robot, true);
+        Location adjustedRobot = frame.getZoneAdjustedLocation();
+        List<Location> walls = frame.getZoneWalls();
 
         if (walls.get(0).distanceTo(adjustedRobot) < MIN_DISTANCE_TO_WALLS) {
             if (walls.get(1).distanceTo(adjustedRobot) < MIN_DISTANCE_TO_WALLS * 1.4) {
@@ -140,31 +122,51 @@ public class ArenaNavigation {
     }
 
     public boolean isHeadingTowardsZone(Location robot, double heading) {
-        Location centerOfZone = getCenterOfZone();
-        double offsetToWallX = arenaWidth/4;
-        double offsetToWallY = arenaHeight/4;
-        Path2D zoneLimits = new Path2D.Double();
-
-        Location topRightCorner = new Location(centerOfZone.getX() + offsetToWallX, centerOfZone.getY() + offsetToWallY);
-        Location topLeftCorner = new Location(centerOfZone.getX() - offsetToWallX, centerOfZone.getY() + offsetToWallY);
-        Location bottomRightCorner = new Location(centerOfZone.getX() + offsetToWallX, centerOfZone.getY() - offsetToWallY);
-        Location bottomLeftCorner = new Location(centerOfZone.getX() - offsetToWallX, centerOfZone.getY() - offsetToWallY);
-
-        zoneLimits.moveTo(topRightCorner.getX(), topRightCorner.getY());
-        zoneLimits.lineTo(topLeftCorner.getX(), topLeftCorner.getY());
-        zoneLimits.lineTo(bottomLeftCorner.getX(), bottomLeftCorner.getY());
-        zoneLimits.lineTo(bottomRightCorner.getX(), bottomRightCorner.getY());
-        zoneLimits.closePath();
-
-        Vector robotVector = ArenaCalculations.angleToUnitVector(heading).setLength(5);
-
-        while(ArenaCalculations.isInsideArena(robot, arenaWidth, arenaHeight)) {
-            if (zoneLimits.contains(robot.getX(), robot.getY())) {
-                return true;
+        return Double.isFinite(distanceToZoneAlongHeading(robot, heading));
+    }
+
+    /**
+     * Intersects the ray defined by robot location and heading with the zone limits (slab method)
+     * @param robot Robot location
+     * @param heading Robot heading (arena angle)
+     * @return Distance travelled along heading until entering the zone, 0 if already inside, infinite if zone is never reached
+     */
+    public double distanceToZoneAlongHeading(Location robot, double heading) {
+        // Arena angles are measured from Y axis, clockwise
+        double directionX = Math.sin(Math.toRadians(heading));
+        double directionY = Math.cos(Math.toRadians(heading));
+
+        double entry = 0;
+        double exit = Double.POSITIVE_INFINITY;
+
+        // Vertical slab
+        if (directionX == 0) {
+            if (robot.getX() < zoneMinX || robot.getX() > zoneMaxX) {
+                return Double.POSITIVE_INFINITY;
             }
-            robot = robotVector.apply(robot);
         }
 
-        return false;
+        else {
+            double t1 = (zoneMinX - robot.getX()) / directionX;
+            double t2 = (zoneMaxX - robot.getX()) / directionX;
+            entry = Math.max(entry, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+
+        // Horizontal slab
+        if (directionY == 0) {
+            if (robot.getY() < zoneMinY || robot.getY() > zoneMaxY) {
+                return Double.POSITIVE_INFINITY;
+            }
+        }
+
+        else {
+            double t1 = (zoneMinY - robot.getY()) / directionY;
+            double t2 = (zoneMaxY - robot.getY()) / directionY;
+            entry = Math.max(entry, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+
+        return entry <= exit ? entry : Double.POSITIVE_INFINITY;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+package sa_robocode.Helpers;
+
+import sa_robocode.Communication.BulletInfo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Registry of teammate bullets still flying in the arena, indexed by shooter and fire tick
+ * Bullets are expired by a timing wheel on the tick they leave the arena
+ */
+public class BulletRegistry {
+    private static final int WHEEL_SIZE = 64;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<BulletInfo, Entry> entries = new LinkedHashMap<>();
+    private final TimingWheel<Entry> expiry = new TimingWheel<>(WHEEL_SIZE);
+    private Entry[] loaded = new Entry[INITIAL_CAPACITY];
+    private double[] loadedX = new double[INITIAL_CAPACITY];
+    private double[] loadedY = new double[INITIAL_CAPACITY];
+
+    /**
+     * Registered bullet, with its expiry tick and avoidance state
+     */
+    public static class Entry {
+        private final BulletInfo bulletInfo;
+        private final long expiryTick;
+        private final long firedOnTick;
+        private final double originX;
+        private final double originY;
+        private final double velocityX;
+        private final double velocityY;
+        private boolean avoided;
+
+        private Entry(BulletInfo bulletInfo, long expiryTick) {
+            Vector bulletVector = bulletInfo.getBulletVector();
+
+            this.bulletInfo = bulletInfo;
+            this.expiryTick = expiryTick;
+            this.firedOnTick = bulletInfo.getFiredOnTick();
+            this.originX = bulletInfo.getFiredFrom().getX();
+            this.originY = bulletInfo.getFiredFrom().getY();
+            this.velocityX = bulletVector.getX();
+            this.velocityY = bulletVector.getY();
+            this.avoided = false;
+        }
+
+        public BulletInfo getBulletInfo() {
+            return bulletInfo;
+        }
+
+        public long getExpiryTick() {
+            return expiryTick;
+        }
+
+        public boolean isAvoided() {
+            return avoided;
+        }
+
+        public void markAvoided() {
+            this.avoided = true;
+        }
+    }
+
+    /**
+     * Registers a bullet, if it was not registered before
+     * @param bi BulletInfo instance
+     * @return True if bullet was registered, false if it is invalid or a duplicate
+     */
+    public boolean register(BulletInfo bi) {
+        if (bi.bulletIsNull() || entries.containsKey(bi)) {
+            return false;
+        }
+
+        Entry entry = new Entry(bi, bi.getWallExitTick());
+        entries.put(bi, entry);
+        expiry.schedule(entry, entry.getExpiryTick());
+        return true;
+    }
+
+    /**
+     * Removes bullets that left the arena until a given tick
+     * @param tick Current tick
+     */
+    public void expire(long tick) {
+        for (Entry entry : expiry.advance(tick)) {
+            entries.remove(entry.getBulletInfo());
+        }
+    }
+
+    /**
+     * Loads the positions on a given tick of the bullets not yet avoided, to run batched collision tests
+     * Bullets that already left the arena get NaN coordinates
+     * @param tick Tick of the positions
+     * @return Number of loaded bullets
+     */
+    public int loadPositions(long tick) {
+        if (loaded.length < entries.size()) {
+            int capacity = Math.max(entries.size(), loaded.length * 2);
+            loaded = new Entry[capacity];
+            loadedX = new double[capacity];
+            loadedY = new double[capacity];
+        }
+
+        int count = 0;
+
+        for (Entry entry : entries.values()) {
+            if (entry.isAvoided()) {
+                continue;
+            }
+
+            long ticksPassed = tick - entry.firedOnTick;
+            boolean flying = tick < entry.expiryTick;
+
+            loaded[count] = entry;
+            loadedX[count] = flying ? entry.originX + entry.velocityX * ticksPassed : Double.NaN;
+            loadedY[count] = flying ? entry.originY + entry.velocityY * ticksPassed : Double.NaN;
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets X coordinates from last loadPositions call
+     * @return Array of X coordinates
+     */
+    public double[] getLoadedX() {
+        return loadedX;
+    }
+
+    /**
+     * Gets Y coordinates from last loadPositions call
+     * @return Array of Y coordinates
+     */
+    public double[] getLoadedY() {
+        return loadedY;
+    }
+
+    /**
+     * Gets entry from last loadPositions call
+     * @param index Index in loaded arrays
+     * @return Entry of the bullet with that index
+     */
+    public Entry getLoaded(int index) {
+        return loaded[index];
+    }
+}
@@ -2,6 +2,9 @@ package sa_robocode.Helpers;
 
 import sa_robocode.Communication.ScanInfo;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 
 public class Circle implements Serializable {
@@ -82,4 +85,24 @@ public class Circle implements Serializable {
 
         return ArenaCalculations.polarInfoToLocation(getCenter(), currentAngle, getRadius());
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes circle as center and radius
+     * @param out Output to write to
+     * @throws IOException If output fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        center.writeTo(out);
+        out.writeDouble(radius);
+    }
+
+    /**
+     * Reads circle written by writeTo
+     * @param in Input to read from
+     * @return Circle read
+     * @throws IOException If input fails
+     */
+    public static Circle readFrom(DataInput in) throws IOException {
+        return new Circle(Location.readFrom(in), in.readDouble());
+    }
+}
@@ -0,0 +1,97 @@
+package sa_robocode.Helpers;
+
+/**
+ * Static class implementation of batched collision and distance tests over primitive arrays
+ * Loops work on plain double arrays without allocating, and their only branch is the early exit on a hit
+ */
+public class CollisionKernels {
+    private static final double HALF_SQUARE_SIDE = ArenaCalculations.ROBOT_CENTER_TO_EDGE / Math.sqrt(2);
+
+    /**
+     * Checks if a point is inside the square used to represent a robot
+     * Same square as ArenaCalculations.getEdgesFromCenterLocation, tested without building the polygon
+     * @param robotX Robot X coordinate
+     * @param robotY Robot Y coordinate
+     * @param robotHeading Robot heading
+     * @param x Point X coordinate
+     * @param y Point Y coordinate
+     * @param tolerance Distance added to the robot edges
+     * @return True if point is inside the robot square
+     */
+    public static boolean isInsideRobot(double robotX, double robotY, double robotHeading, double x, double y, double tolerance) {
+        return firstSweepStepInsideRobot(robotX, robotY, robotHeading, tolerance, x, y, 0, 0, 1) == 1;
+    }
+
+    /**
+     * Finds the first point inside the square used to represent a robot
+     * Points with NaN coordinates are never inside
+     * @param robotX Robot X coordinate
+     * @param robotY Robot Y coordinate
+     * @param robotHeading Robot heading
+     * @param tolerance Distance added to the robot edges
+     * @param xs X coordinates of the points
+     * @param ys Y coordinates of the points
+     * @param count Number of points to test
+     * @return Index of first point inside the robot, -1 if none
+     */
+    public static int firstInsideRobot(double robotX, double robotY, double robotHeading, double tolerance, double[] xs, double[] ys, int count) {
+        // Square sides are rotated by the heading, modulo 90 degrees
+        double angle = Math.toRadians(-robotHeading);
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        double limit = HALF_SQUARE_SIDE + tolerance / Math.sqrt(2);
+
+        for (int i=0; i<count; i++) {
+            double dx = xs[i] - robotX;
+            double dy = ys[i] - robotY;
+            double u = dx * cos + dy * sin;
+            double v = dy * cos - dx * sin;
+
+            if (Math.abs(u) < limit & Math.abs(v) < limit) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Sweeps a point along a straight line and finds the first step inside the square used to represent a robot
+     * @param robotX Robot X coordinate
+     * @param robotY Robot Y coordinate
+     * @param robotHeading Robot heading
+     * @param tolerance Distance added to the robot edges
+     * @param startX Sweep start X coordinate
+     * @param startY Sweep start Y coordinate
+     * @param stepX X displacement of each step
+     * @param stepY Y displacement of each step
+     * @param steps Number of steps
+     * @return First step (starting on 1) inside the robot, -1 if none
+     */
+    public static int firstSweepStepInsideRobot(double robotX, double robotY, double robotHeading, double tolerance,
+                                                double startX, double startY, double stepX, double stepY, int steps) {
+        double angle = Math.toRadians(-robotHeading);
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        double limit = HALF_SQUARE_SIDE + tolerance / Math.sqrt(2);
+
+        // Work relative to the robot, rotated to the square axes
+        double dx = startX - robotX;
+        double dy = startY - robotY;
+        double u0 = dx * cos + dy * sin;
+        double v0 = dy * cos - dx * sin;
+        double du = stepX * cos + stepY * sin;
+        double dv = stepY * cos - stepX * sin;
+
+        for (int i=1; i<=steps; i++) {
+            double u = u0 + du * i;
+            double v = v0 + dv * i;
+
+            if (Math.abs(u) < limit & Math.abs(v) < limit) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
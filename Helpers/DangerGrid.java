@@ -0,0 +1,238 @@
+package sa_robocode.Helpers;
+
+/**
+ * Coarse grid over the arena with decaying danger values, to find minimum risk destinations
+ * Each deposit only touches the cells around it, and decay is applied lazily through a growing scale factor,
+ * so no cell is visited when the grid ages
+ */
+public class DangerGrid {
+    private static final double CELL_SIZE = 40.0;
+    private static final int DEPOSIT_RADIUS = 2;
+    private static final double DANGER_DECAY = 0.95;
+    private static final double HIT_DECAY = 0.995;
+    private static final double RENORMALIZE_SCALE = 1e20;
+    private static final double WALL_RANGE = 120.0;
+    private static final double WALL_WEIGHT = 3.0;
+    private static final double CANDIDATE_DISTANCE = 150.0;
+    private static final int CANDIDATES = 48;
+    private static final int PATH_SAMPLES = 3;
+    private static final double TURN_PENALTY = 0.5;
+    private static final double SWITCH_RATIO = 1.5;
+    private static final double SWITCH_MIN_DIFFERENCE = 0.5;
+
+    private final double arenaWidth;
+    private final double arenaHeight;
+    private final int columns;
+    private final int rows;
+    private final float[] danger;
+    private final float[] hits;
+    private final float[] walls;
+    private final float[] kernel;
+    private final double[] candidateSin;
+    private final double[] candidateCos;
+    private double dangerScale = 1;
+    private double hitScale = 1;
+    private long lastTick = -1;
+
+    /**
+     * Constructor
+     * @param arenaWidth Arena width
+     * @param arenaHeight Arena height
+     */
+    public DangerGrid(double arenaWidth, double arenaHeight) {
+        this.arenaWidth = arenaWidth;
+        this.arenaHeight = arenaHeight;
+        this.columns = (int) Math.ceil(arenaWidth / CELL_SIZE);
+        this.rows = (int) Math.ceil(arenaHeight / CELL_SIZE);
+        this.danger = new float[columns * rows];
+        this.hits = new float[columns * rows];
+        this.walls = new float[columns * rows];
+
+        // Static danger close to walls
+        for (int row=0; row<rows; row++) {
+            for (int column=0; column<columns; column++) {
+                double x = (column + 0.5) * CELL_SIZE;
+                double y = (row + 0.5) * CELL_SIZE;
+                double wallDistance = Math.min(Math.min(x, arenaWidth - x), Math.min(y, arenaHeight - y));
+                double closeness = Math.max(0, 1 - wallDistance / WALL_RANGE);
+                walls[row * columns + column] = (float) (WALL_WEIGHT * closeness * closeness);
+            }
+        }
+
+        // Deposit weights around a cell
+        int side = 2 * DEPOSIT_RADIUS + 1;
+        this.kernel = new float[side * side];
+        for (int dy=-DEPOSIT_RADIUS; dy<=DEPOSIT_RADIUS; dy++) {
+            for (int dx=-DEPOSIT_RADIUS; dx<=DEPOSIT_RADIUS; dx++) {
+                kernel[(dy + DEPOSIT_RADIUS) * side + dx + DEPOSIT_RADIUS] = 1.0f / (1 + dx * dx + dy * dy);
+            }
+        }
+
+        // Candidate directions, as arena angles
+        this.candidateSin = new double[CANDIDATES];
+        this.candidateCos = new double[CANDIDATES];
+        for (int i=0; i<CANDIDATES; i++) {
+            double angle = Math.toRadians(i * 360.0 / CANDIDATES);
+            candidateSin[i] = Math.sin(angle);
+            candidateCos[i] = Math.cos(angle);
+        }
+    }
+
+    /**
+     * Ages the grid up to a given tick
+     * @param tick Current tick
+     */
+    public void advance(long tick) {
+        long elapsed = lastTick < 0 ? 0 : tick - lastTick;
+        lastTick = tick;
+
+        if (elapsed <= 0) {
+            return;
+        }
+
+        // Instead of decaying every cell, new deposits get heavier
+        dangerScale /= Math.pow(DANGER_DECAY, elapsed);
+        hitScale /= Math.pow(HIT_DECAY, elapsed);
+
+        if (dangerScale > RENORMALIZE_SCALE) {
+            renormalize(danger, dangerScale);
+            dangerScale = 1;
+        }
+
+        if (hitScale > RENORMALIZE_SCALE) {
+            renormalize(hits, hitScale);
+            hitScale = 1;
+        }
+    }
+
+    private static void renormalize(float[] layer, double scale) {
+        for (int i=0; i<layer.length; i++) {
+            layer[i] = (float) (layer[i] / scale);
+        }
+    }
+
+    /**
+     * Adds danger around an enemy location
+     * @param x Enemy X coordinate
+     * @param y Enemy Y coordinate
+     * @param weight Danger weight
+     */
+    public void addEnemy(double x, double y, double weight) {
+        deposit(danger, dangerScale, x, y, weight);
+    }
+
+    /**
+     * Adds danger around a teammate location, to keep the team spread
+     * @param x Teammate X coordinate
+     * @param y Teammate Y coordinate
+     * @param weight Danger weight
+     */
+    public void addTeammate(double x, double y, double weight) {
+        deposit(danger, dangerScale, x, y, weight);
+    }
+
+    /**
+     * Adds danger around a location where the robot was hit, which decays slower
+     * @param x Hit X coordinate
+     * @param y Hit Y coordinate
+     * @param weight Danger weight
+     */
+    public void addHit(double x, double y, double weight) {
+        deposit(hits, hitScale, x, y, weight);
+    }
+
+    private void deposit(float[] layer, double scale, double x, double y, double weight) {
+        if (!(x >= 0 && x < arenaWidth && y >= 0 && y < arenaHeight)) {
+            return;
+        }
+
+        int column = (int) (x / CELL_SIZE);
+        int row = (int) (y / CELL_SIZE);
+        int side = 2 * DEPOSIT_RADIUS + 1;
+        float amount = (float) (weight * scale);
+
+        for (int r=Math.max(0, row - DEPOSIT_RADIUS); r<=Math.min(rows - 1, row + DEPOSIT_RADIUS); r++) {
+            for (int c=Math.max(0, column - DEPOSIT_RADIUS); c<=Math.min(columns - 1, column + DEPOSIT_RADIUS); c++) {
+                layer[r * columns + c] += amount * kernel[(r - row + DEPOSIT_RADIUS) * side + c - column + DEPOSIT_RADIUS];
+            }
+        }
+    }
+
+    /**
+     * Gets danger on a given location
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @return Danger value, infinite if outside the arena
+     */
+    public double getDanger(double x, double y) {
+        if (!(x >= 0 && x < arenaWidth && y >= 0 && y < arenaHeight)) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        int cell = ((int) (y / CELL_SIZE)) * columns + (int) (x / CELL_SIZE);
+        return danger[cell] / dangerScale + hits[cell] / hitScale + walls[cell];
+    }
+
+    /**
+     * Scores the path from the robot to a destination in a given direction
+     * @param x Robot X coordinate
+     * @param y Robot Y coordinate
+     * @param sin Sine of the arena angle of the direction
+     * @param cos Cosine of the arena angle of the direction
+     * @param gps ArenaNavigation instance, destinations outside of zone are not allowed
+     * @return Average danger along the path
+     */
+    private double pathDanger(double x, double y, double sin, double cos, ArenaNavigation gps) {
+        double destinationX = x + sin * CANDIDATE_DISTANCE;
+        double destinationY = y + cos * CANDIDATE_DISTANCE;
+
+        if (!gps.isInsideOfZone(destinationX, destinationY)) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double total = 0;
+        for (int i=1; i<=PATH_SAMPLES; i++) {
+            double step = (double) i / PATH_SAMPLES;
+            total += getDanger(x + sin * CANDIDATE_DISTANCE * step, y + cos * CANDIDATE_DISTANCE * step);
+        }
+
+        return total / PATH_SAMPLES;
+    }
+
+    /**
+     * Scores a ring of candidate destinations around the robot, and checks if any is considerably safer than the current heading
+     * @param frame NavigationFrame of current tick
+     * @param gps ArenaNavigation instance
+     * @return Heading to safest destination, null if current heading is safe enough
+     */
+    public Double getSaferHeading(NavigationFrame frame, ArenaNavigation gps) {
+        double x = frame.getLocation().getX();
+        double y = frame.getLocation().getY();
+        double headingRadians = Math.toRadians(frame.getHeading());
+        double currentDanger = pathDanger(x, y, Math.sin(headingRadians), Math.cos(headingRadians), gps);
+
+        double bestScore = Double.POSITIVE_INFINITY;
+        double bestDanger = Double.POSITIVE_INFINITY;
+        int best = -1;
+
+        for (int i=0; i<CANDIDATES; i++) {
+            double candidateDanger = pathDanger(x, y, candidateSin[i], candidateCos[i], gps);
+
+            // Small penalty for sharp turns, so that the robot keeps its momentum
+            double turn = Math.abs(ArenaCalculations.shortestAngle(ArenaCalculations.angleDeltaRight(frame.getHeading(), i * 360.0 / CANDIDATES)));
+            double score = candidateDanger + TURN_PENALTY * turn / 180;
+
+            if (score < bestScore) {
+                bestScore = score;
+                bestDanger = candidateDanger;
+                best = i;
+            }
+        }
+
+        if (best < 0 || (currentDanger < bestDanger * SWITCH_RATIO) || (currentDanger - bestDanger < SWITCH_MIN_DIFFERENCE)) {
+            return null;
+        }
+
+        return best * 360.0 / CANDIDATES;
+    }
+}
@@ -0,0 +1,117 @@
+package sa_robocode.Helpers;
+
+/**
+ * Dead reckoning model of a robot, extrapolated from its last known location, heading, velocity and turn rate
+ * The sender keeps the model its teammates have of it and only broadcasts when the real location drifts away from it,
+ * receivers keep one per teammate and extrapolate it every tick
+ */
+public class DeadReckoning {
+    public static final double ERROR_THRESHOLD = 4;
+    public static final long HEARTBEAT_TICKS = 40;
+    private static final long MAX_EXTRAPOLATION_TICKS = 2 * HEARTBEAT_TICKS;
+
+    private double x;
+    private double y;
+    private double heading;
+    private double velocity;
+    private double turnRate;
+    private long tick;
+    private boolean known = false;
+
+    // Sender statistics, updates are the states actually sent
+    private long checks = 0;
+    private long updates = 0;
+    private double maxError = 0;
+
+    /**
+     * Stores a new state of the robot
+     * Senders call it with each state the Outbox actually wrote, so deferred updates are not counted as sent
+     * @param location Robot location
+     * @param heading Robot heading
+     * @param velocity Robot velocity, negative when moving backwards
+     * @param turnRate Heading variation per tick
+     * @param tick Tick of the state
+     */
+    public void observe(Location location, double heading, double velocity, double turnRate, long tick) {
+        this.x = location.getX();
+        this.y = location.getY();
+        this.heading = heading;
+        this.velocity = velocity;
+        this.turnRate = turnRate;
+        this.tick = tick;
+        this.known = true;
+        this.updates++;
+    }
+
+    public boolean isKnown() {
+        return known;
+    }
+
+    /**
+     * Extrapolates location, assuming velocity and turn rate are kept
+     * @param tick Tick to extrapolate to
+     * @return Extrapolated location
+     */
+    public Location extrapolate(long tick) {
+        long ticks = Math.min(Math.max(tick - this.tick, 0), MAX_EXTRAPOLATION_TICKS);
+        double currentX = x;
+        double currentY = y;
+        double currentHeading = heading;
+
+        // Heading changes before moving, as in robocode physics
+        for (int i=0; i<ticks; i++) {
+            currentHeading += turnRate;
+            double radians = Math.toRadians(currentHeading);
+            currentX += Math.sin(radians) * velocity;
+            currentY += Math.cos(radians) * velocity;
+        }
+
+        return new Location(currentX, currentY);
+    }
+
+    /**
+     * Gets velocity components extrapolated to a given tick
+     * @param tick Tick to extrapolate to
+     * @return Velocity vector
+     */
+    public Vector getVelocityVector(long tick) {
+        long ticks = Math.min(Math.max(tick - this.tick, 0), MAX_EXTRAPOLATION_TICKS);
+        double radians = Math.toRadians(heading + turnRate * ticks);
+
+        return new Vector(Math.sin(radians) * velocity, Math.cos(radians) * velocity);
+    }
+
+    /**
+     * Checks if teammates need a new state, because their extrapolation drifted too far or it is time for a heartbeat
+     * @param location Real location
+     * @param tick Current tick
+     * @return True if state should be broadcast
+     */
+    public boolean needsUpdate(Location location, long tick) {
+        checks++;
+
+        if (!known) return true;
+
+        // Error is recorded on every tick, it keeps growing while an update waits in the Outbox
+        double error = extrapolate(tick).distanceTo(location);
+        maxError = Math.max(maxError, error);
+
+        return error > ERROR_THRESHOLD || tick - this.tick >= HEARTBEAT_TICKS;
+    }
+
+    /**
+     * Gets fraction of checks on which an update was sent
+     * @return Update ratio, from 0 to 1
+     */
+    public double getUpdateRatio() {
+        return checks == 0 ? 0 : (double) updates / checks;
+    }
+
+    /**
+     * Gets largest error teammates had before each update arrived
+     * @return Largest position error
+     */
+    public double getMaxError() {
+        return maxError;
+    }
+}
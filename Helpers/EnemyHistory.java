@@ -0,0 +1,368 @@
+package sa_robocode.Helpers;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Long horizon history of an enemy, with multiple resolutions
+ * The most recent pings are kept at full resolution in a ring buffer. Older pings are downsampled and compressed
+ * into fixed size blocks, with delta-of-delta encoded ticks and XOR encoded values, and only a bounded number
+ * of blocks is kept, so memory is bounded for a whole round
+ */
+public class EnemyHistory {
+    private static final int RECENT_CAPACITY = 256;
+    public static final long DOWNSAMPLE_TICKS = 4;
+    private static final int BLOCK_SAMPLES = 64;
+    private static final int MAX_BLOCKS = 32;
+    public static final int MAX_SAMPLES = MAX_BLOCKS * BLOCK_SAMPLES + RECENT_CAPACITY;
+    private static final int FIELDS = 5;
+    private static final double QUANTUM = 16.0;
+
+    // Worst case of a sample: raw tick and raw values
+    private static final int MAX_SAMPLE_BITS = 64 + FIELDS * 64;
+    private static final int MAX_BLOCK_WORDS = (BLOCK_SAMPLES * (4 + 32 + FIELDS * (2 + 5 + 6 + 64)) + MAX_SAMPLE_BITS) / 64 + 1;
+
+    /**
+     * Receives history samples, in tick order
+     */
+    public interface Visitor {
+        void visit(long tick, double x, double y, double heading, double velocity, double energy);
+    }
+
+    /**
+     * Recent samples at full resolution
+     */
+    private final long[] recentTicks = new long[RECENT_CAPACITY];
+    private final double[][] recentValues = new double[FIELDS][RECENT_CAPACITY];
+    private int recentStart = 0;
+    private int recentCount = 0;
+    private long lastTick = Long.MIN_VALUE;
+
+    /**
+     * Older samples, compressed
+     */
+    private final ArrayDeque<Block> blocks = new ArrayDeque<>();
+    private final Block open = new Block(new long[MAX_BLOCK_WORDS]);
+    private long lastArchivedTick = Long.MIN_VALUE;
+    private final double[] scratch = new double[FIELDS];
+
+    /**
+     * Adds a new sample, samples not newer than the last one are ignored
+     * @param tick Tick of the sample
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @param heading Heading
+     * @param velocity Velocity
+     * @param energy Energy
+     */
+    public void add(long tick, double x, double y, double heading, double velocity, double energy) {
+        if (tick <= lastTick) return;
+        lastTick = tick;
+
+        // Oldest recent sample moves to the archive when the ring is full
+        if (recentCount == RECENT_CAPACITY) {
+            archive(recentStart);
+            recentStart = (recentStart + 1) % RECENT_CAPACITY;
+            recentCount--;
+        }
+
+        int slot = (recentStart + recentCount) % RECENT_CAPACITY;
+        recentTicks[slot] = tick;
+        recentValues[0][slot] = x;
+        recentValues[1][slot] = y;
+        recentValues[2][slot] = heading;
+        recentValues[3][slot] = velocity;
+        recentValues[4][slot] = energy;
+        recentCount++;
+    }
+
+    private void archive(int slot) {
+        long tick = recentTicks[slot];
+        if (lastArchivedTick != Long.MIN_VALUE && tick - lastArchivedTick < DOWNSAMPLE_TICKS) return;
+        lastArchivedTick = tick;
+
+        // Values rounded to binary fractions have short mantissas, which XOR encoding compresses well
+        for (int f=0; f<FIELDS; f++) {
+            scratch[f] = Math.round(recentValues[f][slot] * QUANTUM) / QUANTUM;
+        }
+
+        open.append(tick, scratch);
+
+        if (open.count == BLOCK_SAMPLES) {
+            blocks.addLast(open.seal());
+            if (blocks.size() > MAX_BLOCKS) {
+                blocks.removeFirst();
+            }
+            open.reset();
+        }
+    }
+
+    /**
+     * Visits every sample between two ticks, older ones at archive resolution
+     * @param fromTick First tick, inclusive
+     * @param toTick Last tick, inclusive
+     * @param visitor Visitor to receive samples
+     */
+    public void scan(long fromTick, long toTick, Visitor visitor) {
+        for (Block block : blocks) {
+            if (block.firstTick > toTick) return;
+            if (block.lastTick >= fromTick) {
+                block.decode(fromTick, toTick, visitor);
+            }
+        }
+
+        if (open.count > 0 && open.firstTick <= toTick && open.lastTick >= fromTick) {
+            open.decode(fromTick, toTick, visitor);
+        }
+
+        for (int i=0; i<recentCount; i++) {
+            int slot = (recentStart + i) % RECENT_CAPACITY;
+            long tick = recentTicks[slot];
+
+            if (tick > toTick) return;
+            if (tick >= fromTick) {
+                visitor.visit(tick, recentValues[0][slot], recentValues[1][slot], recentValues[2][slot], recentValues[3][slot], recentValues[4][slot]);
+            }
+        }
+    }
+
+    /**
+     * Gets tick of the oldest sample kept
+     * @return Oldest tick, Long.MIN_VALUE if history is empty
+     */
+    public long getOldestTick() {
+        if (!blocks.isEmpty()) return blocks.peekFirst().firstTick;
+        if (open.count > 0) return open.firstTick;
+        return recentCount > 0 ? recentTicks[recentStart] : Long.MIN_VALUE;
+    }
+
+    /**
+     * Gets number of compressed bytes kept in the archive
+     * @return Archive size in bytes
+     */
+    public int getArchiveBytes() {
+        int words = 0;
+        for (Block block : blocks) {
+            words += block.bits.length;
+        }
+
+        return words * Long.BYTES;
+    }
+
+    /**
+     * Block of compressed samples, written and read as a stream of bits
+     */
+    private static final class Block {
+        private long[] bits;
+        private int bitLength = 0;
+        private int count = 0;
+        private long firstTick;
+        private long lastTick;
+
+        // Encoder state
+        private long previousDelta = 0;
+        private final long[] previousValues = new long[FIELDS];
+        private final int[] previousLeading = new int[FIELDS];
+        private final int[] previousTrailing = new int[FIELDS];
+
+        // Decoder position
+        private int position = 0;
+
+        private Block(long[] bits) {
+            this.bits = bits;
+        }
+
+        private void reset() {
+            Arrays.fill(bits, 0, Math.min(bits.length, (bitLength >>> 6) + 1), 0);
+            bitLength = 0;
+            count = 0;
+            previousDelta = 0;
+        }
+
+        /**
+         * Copies the block into a buffer of the exact size it needs
+         * @return Sealed block
+         */
+        private Block seal() {
+            Block sealed = new Block(Arrays.copyOf(bits, (bitLength + 63) >>> 6));
+            sealed.bitLength = bitLength;
+            sealed.count = count;
+            sealed.firstTick = firstTick;
+            sealed.lastTick = lastTick;
+
+            return sealed;
+        }
+
+        private void append(long tick, double[] values) {
+            if (count == 0) {
+                firstTick = tick;
+                write(tick, 64);
+
+                for (int f=0; f<FIELDS; f++) {
+                    previousValues[f] = Double.doubleToRawLongBits(values[f]);
+                    previousLeading[f] = -1;
+                    write(previousValues[f], 64);
+                }
+            }
+
+            else {
+                long delta = tick - lastTick;
+                writeDeltaOfDelta(delta - previousDelta);
+                previousDelta = delta;
+
+                for (int f=0; f<FIELDS; f++) {
+                    long value = Double.doubleToRawLongBits(values[f]);
+                    writeXor(f, value ^ previousValues[f]);
+                    previousValues[f] = value;
+                }
+            }
+
+            lastTick = tick;
+            count++;
+        }
+
+        private void writeDeltaOfDelta(long dod) {
+            if (dod == 0) {
+                write(0b0, 1);
+            }
+
+            else if (dod >= -64 && dod < 64) {
+                write(0b10, 2);
+                write(dod, 7);
+            }
+
+            else if (dod >= -256 && dod < 256) {
+                write(0b110, 3);
+                write(dod, 9);
+            }
+
+            else if (dod >= -2048 && dod < 2048) {
+                write(0b1110, 4);
+                write(dod, 12);
+            }
+
+            else {
+                write(0b1111, 4);
+                write(dod, 32);
+            }
+        }
+
+        private void writeXor(int field, long xor) {
+            if (xor == 0) {
+                write(0b0, 1);
+                return;
+            }
+
+            int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int trailing = Long.numberOfTrailingZeros(xor);
+
+            // Meaningful bits fit inside the previous window
+            if (previousLeading[field] >= 0 && leading >= previousLeading[field] && trailing >= previousTrailing[field]) {
+                write(0b10, 2);
+                write(xor >>> previousTrailing[field], 64 - previousLeading[field] - previousTrailing[field]);
+            }
+
+            else {
+                int length = 64 - leading - trailing;
+                write(0b11, 2);
+                write(leading, 5);
+                write(length - 1, 6);
+                write(xor >>> trailing, length);
+                previousLeading[field] = leading;
+                previousTrailing[field] = trailing;
+            }
+        }
+
+        private void write(long value, int length) {
+            int index = bitLength >>> 6;
+            int free = 64 - (bitLength & 63);
+            long masked = length == 64 ? value : value & ((1L << length) - 1);
+
+            if (length <= free) {
+                bits[index] |= masked << (free - length);
+            }
+
+            else {
+                bits[index] |= masked >>> (length - free);
+                bits[index + 1] |= masked << (64 - (length - free));
+            }
+
+            bitLength += length;
+        }
+
+        private long read(int length) {
+            int index = position >>> 6;
+            int free = 64 - (position & 63);
+            long result;
+
+            if (length <= free) {
+                long shifted = bits[index] >>> (free - length);
+                result = length == 64 ? shifted : shifted & ((1L << length) - 1);
+            }
+
+            else {
+                long high = bits[index] & ((1L << free) - 1);
+                result = (high << (length - free)) | (bits[index + 1] >>> (64 - (length - free)));
+            }
+
+            position += length;
+            return result;
+        }
+
+        private long readSigned(int length) {
+            return (read(length) << (64 - length)) >> (64 - length);
+        }
+
+        private void decode(long fromTick, long toTick, Visitor visitor) {
+            position = 0;
+            long[] values = new long[FIELDS];
+            int[] leading = new int[FIELDS];
+            int[] trailing = new int[FIELDS];
+            long tick = 0;
+            long delta = 0;
+
+            for (int i=0; i<count; i++) {
+                if (i == 0) {
+                    tick = read(64);
+                    for (int f=0; f<FIELDS; f++) {
+                        values[f] = read(64);
+                    }
+                }
+
+                else {
+                    delta += readDeltaOfDelta();
+                    tick += delta;
+
+                    for (int f=0; f<FIELDS; f++) {
+                        if (read(1) == 0) continue;
+
+                        if (read(1) == 0) {
+                            values[f] ^= read(64 - leading[f] - trailing[f]) << trailing[f];
+                        }
+
+                        else {
+                            leading[f] = (int) read(5);
+                            int length = (int) read(6) + 1;
+                            trailing[f] = 64 - leading[f] - length;
+                            values[f] ^= read(length) << trailing[f];
+                        }
+                    }
+                }
+
+                if (tick > toTick) return;
+                if (tick >= fromTick) {
+                    visitor.visit(tick, Double.longBitsToDouble(values[0]), Double.longBitsToDouble(values[1]),
+                            Double.longBitsToDouble(values[2]), Double.longBitsToDouble(values[3]), Double.longBitsToDouble(values[4]));
+                }
+            }
+        }
+
+        private long readDeltaOfDelta() {
+            if (read(1) == 0) return 0;
+            if (read(1) == 0) return readSigned(7);
+            if (read(1) == 0) return readSigned(9);
+            if (read(1) == 0) return readSigned(12);
+            return readSigned(32);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package sa_robocode.Helpers;
+
+/**
+ * Predicts an enemy by replaying what it did after the past moment most similar to its last few samples
+ * The whole long horizon history is read at archive resolution, so moves repeated long before the last pings can still be found.
+ * Samples are compared by velocity and turn rate, and the replayed path is rotated to the current heading.
+ * Samples go to preallocated arrays, so a match costs O(samples * window) and allocates nothing per sample
+ */
+public class HistoryMatcher implements EnemyHistory.Visitor {
+    private static final int WINDOW = 6;
+    private static final long MAX_GAP = 3 * EnemyHistory.DOWNSAMPLE_TICKS;
+    private static final double TURN_WEIGHT = 1.0;
+    private static final double MAX_MATCH_ERROR = 4.0;
+
+    private final long[] ticks = new long[EnemyHistory.MAX_SAMPLES];
+    private final double[] xs = new double[EnemyHistory.MAX_SAMPLES];
+    private final double[] ys = new double[EnemyHistory.MAX_SAMPLES];
+    private final double[] headings = new double[EnemyHistory.MAX_SAMPLES];
+    private final double[] velocities = new double[EnemyHistory.MAX_SAMPLES];
+    private int count = 0;
+
+    private int anchor = -1;
+
+    /**
+     * Finds the past moment most similar to the last samples of the history
+     * @param history Enemy history
+     * @return True if a close enough match was found
+     */
+    public boolean match(EnemyHistory history) {
+        count = 0;
+        anchor = -1;
+        history.scan(Long.MIN_VALUE, Long.MAX_VALUE, this);
+        downsample();
+
+        int last = count - 1;
+        if (last < 2 * WINDOW || !continuous(last)) return false;
+
+        double bestError = MAX_MATCH_ERROR * WINDOW;
+
+        // Anchors need at least one sample after them to replay
+        for (int candidate=WINDOW; candidate<last-1; candidate++) {
+            if (!continuous(candidate)) continue;
+
+            double error = 0;
+            for (int k=0; k<WINDOW && error < bestError; k++) {
+                double velocityError = velocities[last-k] - velocities[candidate-k];
+                double turnError = TURN_WEIGHT * (turnRate(last-k) - turnRate(candidate-k));
+                error += velocityError * velocityError + turnError * turnError;
+            }
+
+            if (error < bestError) {
+                bestError = error;
+                anchor = candidate;
+            }
+        }
+
+        return anchor >= 0;
+    }
+
+    /**
+     * Replays the movement after the matched moment from the last sample
+     * @param tick Tick to predict
+     * @return Predicted location, null if there is no match or it does not reach that far
+     */
+    public Location getLocationByTick(long tick) {
+        if (anchor < 0) return null;
+
+        int last = count - 1;
+        long ahead = tick - ticks[last];
+        if (ahead < 0) return null;
+
+        // First sample at or after the same time after the anchor
+        int next = anchor;
+        while (next <= last && ticks[next] - ticks[anchor] < ahead) {
+            next++;
+        }
+        if (next > last) return null;
+
+        double x = xs[next];
+        double y = ys[next];
+        if (next > anchor) {
+            double fraction = (double) (ticks[anchor] + ahead - ticks[next-1]) / (ticks[next] - ticks[next-1]);
+            x = xs[next-1] + (xs[next] - xs[next-1]) * fraction;
+            y = ys[next-1] + (ys[next] - ys[next-1]) * fraction;
+        }
+
+        // Replayed displacement is turned from the anchor heading to the current one, clockwise as arena angles
+        double rotation = Math.toRadians(headings[last] - headings[anchor]);
+        double dx = x - xs[anchor];
+        double dy = y - ys[anchor];
+
+        return new Location(xs[last] + dx * Math.cos(rotation) + dy * Math.sin(rotation), ys[last] - dx * Math.sin(rotation) + dy * Math.cos(rotation));
+    }
+
+    @Override
+    public void visit(long tick, double x, double y, double heading, double velocity, double energy) {
+        ticks[count] = tick;
+        xs[count] = x;
+        ys[count] = y;
+        headings[count] = heading;
+        velocities[count] = velocity;
+        count++;
+    }
+
+    /**
+     * Brings recent samples to archive resolution, counting back from the newest one
+     * so the last window is compared on the same spacing as the windows it is matched with
+     */
+    private void downsample() {
+        if (count == 0) return;
+
+        int kept = count - 1;
+        for (int i=count-2; i>=0; i--) {
+            if (ticks[kept] - ticks[i] >= EnemyHistory.DOWNSAMPLE_TICKS) {
+                kept--;
+                ticks[kept] = ticks[i];
+                xs[kept] = xs[i];
+                ys[kept] = ys[i];
+                headings[kept] = headings[i];
+                velocities[kept] = velocities[i];
+            }
+        }
+
+        count -= kept;
+        System.arraycopy(ticks, kept, ticks, 0, count);
+        System.arraycopy(xs, kept, xs, 0, count);
+        System.arraycopy(ys, kept, ys, 0, count);
+        System.arraycopy(headings, kept, headings, 0, count);
+        System.arraycopy(velocities, kept, velocities, 0, count);
+    }
+
+    // Window ending on a sample has no gaps too wide to tell how the enemy moved
+    private boolean continuous(int end) {
+        for (int i=end-WINDOW+1; i<=end; i++) {
+            if (ticks[i] - ticks[i-1] > MAX_GAP) return false;
+        }
+
+        return true;
+    }
+
+    private double turnRate(int i) {
+        return ArenaCalculations.shortestAngle(ArenaCalculations.angleDeltaRight(headings[i-1], headings[i])) / (ticks[i] - ticks[i-1]);
+    }
+}
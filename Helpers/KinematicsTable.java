@@ -0,0 +1,153 @@
+package sa_robocode.Helpers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Latest position and velocity of each tracked robot, stored in primitive arrays
+ * Names are mapped to slots once, so updates and reads do not allocate, and the number of slots is bounded
+ */
+public class KinematicsTable {
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final String[] names;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] vxs;
+    private final double[] vys;
+    private final long[] ticks;
+    private int count = 0;
+
+    /**
+     * Constructor
+     * @param capacity Maximum number of tracked robots
+     */
+    public KinematicsTable(int capacity) {
+        this.names = new String[capacity];
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+        this.vxs = new double[capacity];
+        this.vys = new double[capacity];
+        this.ticks = new long[capacity];
+    }
+
+    /**
+     * Updates location and velocity of a robot, when velocity is known
+     * @param name Robot name
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @param vx Velocity along X axis
+     * @param vy Velocity along Y axis
+     * @param tick Tick of the observation
+     */
+    public void update(String name, double x, double y, double vx, double vy, long tick) {
+        Integer slot = slots.get(name);
+
+        if (slot == null) {
+            slot = allocate(name);
+        }
+
+        else if (tick <= ticks[slot]) {
+            return;
+        }
+
+        xs[slot] = x;
+        ys[slot] = y;
+        vxs[slot] = vx;
+        vys[slot] = vy;
+        ticks[slot] = tick;
+    }
+
+    /**
+     * Gets a slot for a new robot, evicting the one with the oldest observation if the table is full
+     * @param name Robot name
+     * @return Slot index
+     */
+    private int allocate(String name) {
+        if (count == names.length) {
+            int oldest = 0;
+            for (int i=1; i<count; i++) {
+                if (ticks[i] < ticks[oldest]) {
+                    oldest = i;
+                }
+            }
+            remove(names[oldest]);
+        }
+
+        int slot = count++;
+        slots.put(name, slot);
+        names[slot] = name;
+
+        return slot;
+    }
+
+    /**
+     * Removes a robot, moving the last slot to its place
+     * @param name Robot name
+     */
+    public void remove(String name) {
+        Integer slot = slots.remove(name);
+        if (slot == null) return;
+
+        count--;
+        if (slot != count) {
+            names[slot] = names[count];
+            xs[slot] = xs[count];
+            ys[slot] = ys[count];
+            vxs[slot] = vxs[count];
+            vys[slot] = vys[count];
+            ticks[slot] = ticks[count];
+            slots.put(names[slot], slot);
+        }
+        names[count] = null;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public String getName(int slot) {
+        return names[slot];
+    }
+
+    /**
+     * Gets slot of a robot
+     * @param name Robot name
+     * @return Slot index, -1 if not tracked
+     */
+    public int getSlot(String name) {
+        Integer slot = slots.get(name);
+        return slot == null ? -1 : slot;
+    }
+
+    public long getTick(int slot) {
+        return ticks[slot];
+    }
+
+    public double getVelocityX(int slot) {
+        return vxs[slot];
+    }
+
+    public double getVelocityY(int slot) {
+        return vys[slot];
+    }
+
+    /**
+     * Gets X coordinate extrapolated to a given tick
+     * @param slot Robot slot
+     * @param tick Tick to extrapolate to
+     * @return X coordinate
+     */
+    public double getX(int slot, long tick) {
+        return xs[slot] + vxs[slot] * (tick - ticks[slot]);
+    }
+
+    /**
+     * Gets Y coordinate extrapolated to a given tick
+     * @param slot Robot slot
+     * @param tick Tick to extrapolate to
+     * @return Y coordinate
+     */
+    public double getY(int slot, long tick) {
+        return ys[slot] + vys[slot] * (tick - ticks[slot]);
+    }
+}
@@ -3,6 +3,9 @@ package sa_robocode.Helpers;
 import robocode.Rules;
 import sa_robocode.Communication.ScanInfo;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 
 public class Line implements Serializable {
@@ -42,6 +45,15 @@ public class Line implements Serializable {
         }
     }
 
+    private Line(double slope, double intercept, boolean inversion, double maxVelocity, Location start, Location end) {
+        this.slope = slope;
+        this.intercept = intercept;
+        this.orientationInversion = inversion;
+        this.maxVelocity = maxVelocity;
+        this.start = start;
+        this.end = end;
+    }
+
     public double getSlope() {
         return slope;
     }
@@ -79,15 +91,7 @@ public class Line implements Serializable {
     }
 
     public double getBrakingDistance(double velocity) {
-        double v = velocity;
-        double distance = 0;
-
-        while (v > 0) {
-            v = Math.max(v - Rules.DECELERATION, 0);
-            distance += v;
-        }
-
-        return distance;
+        return MovementPredictor.getBrakingDistance(Math.max(velocity, 0));
     }
 
     public double getHeading() {
@@ -149,4 +153,28 @@ public class Line implements Serializable {
 
         return lastLocation;
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes line parameters and its limits
+     * @param out Output to write to
+     * @throws IOException If output fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeDouble(slope);
+        out.writeDouble(intercept);
+        out.writeBoolean(orientationInversion);
+        out.writeDouble(maxVelocity);
+        start.writeTo(out);
+        end.writeTo(out);
+    }
+
+    /**
+     * Reads line written by writeTo
+     * @param in Input to read from
+     * @return Line read
+     * @throws IOException If input fails
+     */
+    public static Line readFrom(DataInput in) throws IOException {
+        return new Line(in.readDouble(), in.readDouble(), in.readBoolean(), in.readDouble(), Location.readFrom(in), Location.readFrom(in));
+    }
+}
@@ -1,5 +1,8 @@
 package sa_robocode.Helpers;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 
 /**
@@ -77,4 +80,24 @@ public class Location implements Serializable {
     public Location clone() {
         return new Location(getX(), getY());
     }
+
+    /**
+     * Writes location as two fixed width coordinates
+     * @param out Output to write to
+     * @throws IOException If output fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeDouble(x);
+        out.writeDouble(y);
+    }
+
+    /**
+     * Reads location written by writeTo
+     * @param in Input to read from
+     * @return Location read
+     * @throws IOException If input fails
+     */
+    public static Location readFrom(DataInput in) throws IOException {
+        return new Location(in.readDouble(), in.readDouble());
+    }
 }
\ No newline at end of file
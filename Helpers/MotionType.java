@@ -2,11 +2,11 @@ package sa_robocode.Helpers;
 
 public enum MotionType {
     AVOIDING_BULLET,
-    AVOIDING_TEAMMATE,
     READY_TO_MOVE,
     TURNING,
     MOVING,
     RANDOM_DIVERSION,
+    SURFING,
     ENEMY_COLLISION,
     HIT_WALL
 }
@@ -0,0 +1,210 @@
+package sa_robocode.Helpers;
+
+import robocode.Rules;
+
+/**
+ * Precise predictor of the robot own movement, following robocode physics
+ * The simulation updates its state in place and writes every future tick to preallocated arrays, so predictions do not allocate
+ */
+public class MovementPredictor {
+    private static final double HALF_ROBOT_SIZE = 18.0;
+    private static final double TURN_RATE_VELOCITY_FACTOR = 0.75;
+    private static final int TABLE_SIZE = (int) Rules.MAX_VELOCITY + 1;
+
+    /**
+     * Tables indexed by absolute velocity
+     * Both functions are linear between integer velocities, so interpolating the tables is exact
+     */
+    private static final double[] BRAKING_DISTANCE = new double[TABLE_SIZE];
+    private static final double[] MAX_TURN_RATE = new double[TABLE_SIZE];
+
+    static {
+        for (int i=0; i<TABLE_SIZE; i++) {
+            double velocity = i;
+            double distance = 0;
+
+            while (velocity > 0) {
+                velocity = Math.max(velocity - Rules.DECELERATION, 0);
+                distance += velocity;
+            }
+
+            BRAKING_DISTANCE[i] = distance;
+            MAX_TURN_RATE[i] = Rules.MAX_TURN_RATE - (TURN_RATE_VELOCITY_FACTOR * i);
+        }
+    }
+
+    private final double arenaWidth;
+    private final double arenaHeight;
+    private final int horizon;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] headings;
+    private final double[] velocities;
+
+    /**
+     * Constructor
+     * @param arenaWidth Arena width
+     * @param arenaHeight Arena height
+     * @param horizon Number of future ticks to predict
+     */
+    public MovementPredictor(double arenaWidth, double arenaHeight, int horizon) {
+        this.arenaWidth = arenaWidth;
+        this.arenaHeight = arenaHeight;
+        this.horizon = horizon;
+        this.xs = new double[horizon + 1];
+        this.ys = new double[horizon + 1];
+        this.headings = new double[horizon + 1];
+        this.velocities = new double[horizon + 1];
+    }
+
+    /**
+     * Reads a velocity indexed table, interpolating between integer velocities
+     * @param table Table to read
+     * @param velocity Velocity, sign is ignored
+     * @return Interpolated table value
+     */
+    private static double lookup(double[] table, double velocity) {
+        double speed = Math.min(Math.abs(velocity), TABLE_SIZE - 1);
+        int index = (int) speed;
+
+        if (index == TABLE_SIZE - 1) {
+            return table[index];
+        }
+
+        return table[index] + (table[index + 1] - table[index]) * (speed - index);
+    }
+
+    /**
+     * Gets distance travelled until stopping, when braking at full deceleration
+     * @param velocity Current velocity
+     * @return Braking distance
+     */
+    public static double getBrakingDistance(double velocity) {
+        return lookup(BRAKING_DISTANCE, velocity);
+    }
+
+    /**
+     * Gets maximum body turn rate for a given velocity
+     * @param velocity Current velocity
+     * @return Maximum turn in degrees per tick
+     */
+    public static double getMaxTurnRate(double velocity) {
+        return lookup(MAX_TURN_RATE, velocity);
+    }
+
+    /**
+     * Gets the highest velocity from which the robot can still stop within a given distance
+     * @param distance Distance left to travel
+     * @return Maximum velocity
+     */
+    public static double getMaxVelocity(double distance) {
+        double decelerationTime = Math.max(1, Math.ceil((Math.sqrt((4 * 2 / Rules.DECELERATION) * distance + 1) - 1) / 2));
+
+        if (Double.isInfinite(decelerationTime)) {
+            return Rules.MAX_VELOCITY;
+        }
+
+        double decelerationDistance = (decelerationTime / 2.0) * (decelerationTime - 1) * Rules.DECELERATION;
+        return ((decelerationTime - 1) * Rules.DECELERATION) + ((distance - decelerationDistance) / decelerationTime);
+    }
+
+    /**
+     * Gets velocity on the next tick, accelerating by 1 and decelerating by 2
+     * @param velocity Current velocity
+     * @param distance Distance left to travel, negative if moving backwards
+     * @param maxVelocity Velocity limit set on the robot
+     * @return Velocity on next tick
+     */
+    public static double getNextVelocity(double velocity, double distance, double maxVelocity) {
+        if (distance < 0) {
+            return -getNextVelocity(-velocity, -distance, maxVelocity);
+        }
+
+        double goalVelocity = Math.min(getMaxVelocity(distance), maxVelocity);
+
+        if (velocity >= 0) {
+            return Math.max(velocity - Rules.DECELERATION, Math.min(goalVelocity, velocity + Rules.ACCELERATION));
+        }
+
+        // Moving backwards, so it is braking, and might cross to positive velocity on this tick
+        double decelerationTime = -velocity / Rules.DECELERATION;
+        double accelerationTime = 1 - decelerationTime;
+        double maxDeceleration = Math.min(1, decelerationTime) * Rules.DECELERATION + Math.max(0, accelerationTime) * Rules.ACCELERATION;
+
+        return Math.max(velocity - Rules.ACCELERATION, Math.min(goalVelocity, velocity + maxDeceleration));
+    }
+
+    /**
+     * Simulates the robot movement for every tick of the horizon
+     * Index 0 of the results is the current state
+     * @param x Current X coordinate
+     * @param y Current Y coordinate
+     * @param heading Current heading
+     * @param velocity Current velocity
+     * @param turnRemaining Body turn left, in degrees (positive is clockwise)
+     * @param distanceRemaining Distance left to travel (negative is backwards)
+     * @param maxVelocity Velocity limit set on the robot
+     */
+    public void predict(double x, double y, double heading, double velocity, double turnRemaining, double distanceRemaining, double maxVelocity) {
+        xs[0] = x;
+        ys[0] = y;
+        headings[0] = heading;
+        velocities[0] = velocity;
+
+        for (int i=1; i<=horizon; i++) {
+            // Body turns first, limited by the velocity at the start of the tick
+            double maxTurn = getMaxTurnRate(velocity);
+            double turn = Math.max(-maxTurn, Math.min(maxTurn, turnRemaining));
+            heading = (heading + turn + 360) % 360;
+            turnRemaining -= turn;
+
+            // Then velocity and position are updated
+            velocity = getNextVelocity(velocity, distanceRemaining, maxVelocity);
+            distanceRemaining -= velocity;
+            x += velocity * Math.sin(Math.toRadians(heading));
+            y += velocity * Math.cos(Math.toRadians(heading));
+
+            // Robot stops when hitting a wall
+            if (x < HALF_ROBOT_SIZE || x > arenaWidth - HALF_ROBOT_SIZE || y < HALF_ROBOT_SIZE || y > arenaHeight - HALF_ROBOT_SIZE) {
+                x = Math.max(HALF_ROBOT_SIZE, Math.min(arenaWidth - HALF_ROBOT_SIZE, x));
+                y = Math.max(HALF_ROBOT_SIZE, Math.min(arenaHeight - HALF_ROBOT_SIZE, y));
+                velocity = 0;
+                distanceRemaining = 0;
+            }
+
+            xs[i] = x;
+            ys[i] = y;
+            headings[i] = heading;
+            velocities[i] = velocity;
+        }
+    }
+
+    public int getHorizon() {
+        return horizon;
+    }
+
+    public double getX(int tick) {
+        return xs[tick];
+    }
+
+    public double getY(int tick) {
+        return ys[tick];
+    }
+
+    public double getHeading(int tick) {
+        return headings[tick];
+    }
+
+    public double getVelocity(int tick) {
+        return velocities[tick];
+    }
+
+    /**
+     * Gets body rotation between a tick and the previous one
+     * @param tick Predicted tick, starting on 1
+     * @return Signed rotation in degrees (positive is clockwise)
+     */
+    public double getTurn(int tick) {
+        return ArenaCalculations.shortestAngle(ArenaCalculations.angleDeltaRight(headings[tick - 1], headings[tick]));
+    }
+}
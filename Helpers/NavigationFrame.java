@@ -0,0 +1,94 @@
+package sa_robocode.Helpers;
+
+import robocode.RobotStatus;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Snapshot of the robot navigation state on a single tick
+ * Built once from the StatusEvent, so that every handler on the same tick reads the same values
+ */
+public class NavigationFrame {
+    private final long tick;
+    private final Location location;
+    private final Location zoneAdjustedLocation;
+    private final double heading;
+    private final double gunHeading;
+    private final double velocity;
+    private final double headingDiff;
+    private final List<Location> walls;
+    private final List<Location> zoneWalls;
+    private final boolean insideOfZone;
+
+    /**
+     * Constructor
+     * @param status RobotStatus of current tick
+     * @param lastHeading Robot heading on previous tick
+     * @param gps ArenaNavigation instance of the robot
+     */
+    public NavigationFrame(RobotStatus status, double lastHeading, ArenaNavigation gps) {
+        this.tick = status.getTime();
+        this.location = new Location(status.getX(), status.getY());
+        this.zoneAdjustedLocation = gps.adjustLocToZone(location);
+        this.heading = status.getHeading();
+        this.gunHeading = status.getGunHeading();
+        this.velocity = status.getVelocity();
+        this.headingDiff = ArenaCalculations.shortestAngle(heading - lastHeading);
+        this.walls = Collections.unmodifiableList(gps.getWallsOrderedByDistance(location, false));
+        this.zoneWalls = Collections.unmodifiableList(gps.getWallsOrderedByDistance(location, true));
+        this.insideOfZone = gps.isInsideOfZone(location);
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public Location getLocation() {
+        return location;
+    }
+
+    public Location getZoneAdjustedLocation() {
+        return zoneAdjustedLocation;
+    }
+
+    public double getHeading() {
+        return heading;
+    }
+
+    public double getGunHeading() {
+        return gunHeading;
+    }
+
+    public double getVelocity() {
+        return velocity;
+    }
+
+    /**
+     * Gets heading variation since previous tick
+     * @return Shortest angle from last heading to current heading
+     */
+    public double getHeadingDiff() {
+        return headingDiff;
+    }
+
+    /**
+     * Gets arena walls, ordered by distance to the robot
+     * @return Closest point of each arena wall
+     */
+    public List<Location> getWalls() {
+        return walls;
+    }
+
+    /**
+     * Gets zone walls, ordered by distance to the zone adjusted location
+     * @return Closest point of each zone wall, in zone coordinates
+     */
+    public List<Location> getZoneWalls() {
+        return zoneWalls;
+    }
+
+    public boolean isInsideOfZone() {
+        return insideOfZone;
+    }
+}
@@ -3,6 +3,9 @@ package sa_robocode.Helpers;
 import robocode.Rules;
 import sa_robocode.Communication.ScanInfo;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 
 public class Projection implements Serializable {
@@ -10,7 +13,8 @@ public class Projection implements Serializable {
     private final double heading;
     private final double acceleration;
     private final double velocity;
-    private final ScanInfo lastPing;
+    private final Location origin;
+    private final long originTick;
 
     public Projection(ScanInfo recent, ScanInfo old) {
         // Adjust to missing data points
@@ -22,17 +26,27 @@ public class Projection implements Serializable {
 
         this.heading = recent.getScannedRobotEvent().getHeading();
         this.velocity = recent.getScannedRobotEvent().getVelocity();
-        this.lastPing = recent;
+        this.origin = recent.getLocation();
+        this.originTick = recent.getScannedRobotEvent().getTime();
+    }
+
+    private Projection(double headingDiff, double heading, double acceleration, double velocity, Location origin, long originTick) {
+        this.headingDiff = headingDiff;
+        this.heading = heading;
+        this.acceleration = acceleration;
+        this.velocity = velocity;
+        this.origin = origin;
+        this.originTick = originTick;
     }
 
     public double getHeading(long tick) {
-        long ticksToPredict = tick - this.lastPing.getScannedRobotEvent().getTime();
+        long ticksToPredict = tick - this.originTick;
         return (heading + (ticksToPredict * headingDiff)) % 360;
     }
 
     public Location getLocationByTick(long tick) {
-        long ticksToPredict = tick - this.lastPing.getScannedRobotEvent().getTime();
-        Location location = this.lastPing.getLocation();
+        long ticksToPredict = tick - this.originTick;
+        Location location = this.origin;
         double heading = this.heading;
         double velocity = this.velocity;
 
@@ -45,4 +59,28 @@ public class Projection implements Serializable {
 
         return location;
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes projection parameters and the location and tick it starts from
+     * @param out Output to write to
+     * @throws IOException If output fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeDouble(headingDiff);
+        out.writeDouble(heading);
+        out.writeDouble(acceleration);
+        out.writeDouble(velocity);
+        origin.writeTo(out);
+        out.writeLong(originTick);
+    }
+
+    /**
+     * Reads projection written by writeTo
+     * @param in Input to read from
+     * @return Projection read
+     * @throws IOException If input fails
+     */
+    public static Projection readFrom(DataInput in) throws IOException {
+        return new Projection(in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble(), Location.readFrom(in), in.readLong());
+    }
+}
@@ -0,0 +1,42 @@
+package sa_robocode.Helpers;
+
+import java.util.*;
+
+/**
+ * Splits enemies among radar equipped teammates, so that each one watches its own sector of the arena
+ * Enemies and radars are both sorted by their bearing from the arena center, and consecutive enemies
+ * are given to the radar on the same sector
+ */
+public class RadarAssignment {
+    /**
+     * Assigns each enemy to one radar
+     * @param enemies Last known location of each enemy
+     * @param radars Location of each radar equipped teammate
+     * @param center Arena center
+     * @return Map from enemy name to the name of the teammate watching it
+     */
+    public static Map<String, String> assign(Map<String, Location> enemies, Map<String, Location> radars, Location center) {
+        Map<String, String> assignment = new HashMap<>();
+        if (radars.isEmpty()) return assignment;
+
+        List<String> enemyOrder = byBearing(enemies, center);
+        List<String> radarOrder = byBearing(radars, center);
+
+        // Consecutive enemies go to the same radar, with sizes differing by one at most
+        int radarCount = radarOrder.size();
+        for (int i=0; i<enemyOrder.size(); i++) {
+            int sector = i * radarCount / enemyOrder.size();
+            assignment.put(enemyOrder.get(i), radarOrder.get(sector));
+        }
+
+        return assignment;
+    }
+
+    private static List<String> byBearing(Map<String, Location> locations, Location center) {
+        List<String> names = new ArrayList<>(locations.keySet());
+        names.sort(Comparator.comparingDouble((String name) -> ArenaCalculations.angleFromOriginToLocation(center, locations.get(name)))
+                .thenComparing(Comparator.naturalOrder()));
+
+        return names;
+    }
+}
@@ -0,0 +1,153 @@
+package sa_robocode.Helpers;
+
+import robocode.Rules;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Radar scheduler that maximizes the scan rate of every enemy
+ * Enemies are kept ordered by the tick of their last ping, so the radar can sweep towards the one with the oldest information,
+ * and it locks onto the bounty just before firing
+ */
+public class RadarScheduler {
+    private static final double SWEEP_OVERSHOOT = 20.0;
+    private static final double LOCK_FACTOR = 2.0;
+    private static final long MAX_SWEEP_TICKS = (long) Math.ceil(360 / Rules.RADAR_TURN_RATE);
+
+    private final Map<String, Long> lastSeen = new HashMap<>();
+    private final TreeSet<String> byAge = new TreeSet<>(Comparator.comparingLong((String name) -> lastSeen.get(name)).thenComparing(Comparator.naturalOrder()));
+    private Map<String, String> assignment = new HashMap<>();
+    private String owner = null;
+    private double spinDirection = 1;
+    private String sweepTarget = null;
+    private long sweepStart = 0;
+
+    /**
+     * Registers a new ping of an enemy
+     * @param name Enemy name
+     * @param tick Tick of the ping
+     */
+    public void update(String name, long tick) {
+        Long previous = lastSeen.get(name);
+        if (previous != null && previous >= tick) return;
+
+        // Ordering depends on the tick, so the enemy is removed before changing it
+        if (previous != null) {
+            byAge.remove(name);
+        }
+
+        lastSeen.put(name, tick);
+        byAge.add(name);
+    }
+
+    /**
+     * Stops scheduling a robot, when it dies or turns out to be a teammate
+     * @param name Robot name
+     */
+    public void remove(String name) {
+        if (lastSeen.containsKey(name)) {
+            byAge.remove(name);
+            lastSeen.remove(name);
+        }
+    }
+
+    /**
+     * Sets which enemies this radar is responsible for
+     * @param assignment Map from enemy name to the name of the teammate watching it
+     * @param owner Name of this robot
+     */
+    public void setAssignment(Map<String, String> assignment, String owner) {
+        this.assignment = assignment;
+        this.owner = owner;
+    }
+
+    /**
+     * Checks if an enemy is watched by this radar, which is also the case for enemies no one was assigned to
+     * @param name Enemy name
+     * @return True if enemy is watched by this radar
+     */
+    public boolean isMine(String name) {
+        String watcher = assignment.get(name);
+        return watcher == null || watcher.equals(owner);
+    }
+
+    /**
+     * Gets active enemy with the oldest ping among the ones watched by this radar
+     * Stale and dormant enemies are left out, as their last location is too old to sweep through
+     * @param enemies Tracker of an enemy by name, null if not tracked
+     * @return Enemy name, null if no active enemy is watched by this radar
+     */
+    public String getOldest(Function<String, Tracker> enemies) {
+        for (String name : byAge) {
+            Tracker tracker = enemies.apply(name);
+
+            if (isMine(name) && tracker != null && tracker.getTier() == TrackerTier.ACTIVE && tracker.getLastKnownLocation() != null) {
+                return name;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets number of ticks since the last ping of an enemy
+     * @param name Enemy name
+     * @param tick Current tick
+     * @return Ping age, infinite if never seen
+     */
+    public double getPingAge(String name, long tick) {
+        Long seen = lastSeen.get(name);
+        return seen == null ? Double.POSITIVE_INFINITY : tick - seen;
+    }
+
+    /**
+     * Calculates radar turn for this tick
+     * @param robot Robot location
+     * @param radarHeading Current radar heading
+     * @param enemies Tracker of an enemy by name, null if not tracked
+     * @param expectedEnemies Number of enemies alive
+     * @param bounty Enemy about to be shot, null if none
+     * @param tick Current tick
+     * @return Radar turn, positive to the right
+     */
+    public double getRadarTurn(Location robot, double radarHeading, Function<String, Tracker> enemies, int expectedEnemies, Tracker bounty, long tick) {
+        // Lock onto bounty, overshooting so that it stays inside the scan arc
+        if (bounty != null && bounty.getLastKnownLocation() != null) {
+            double turn = turnTowards(robot, radarHeading, bounty.getLastKnownLocation());
+            return clamp(turn * LOCK_FACTOR);
+        }
+
+        // Keep spinning until every enemy was found
+        String oldest = getOldest(enemies);
+        if (lastSeen.size() < expectedEnemies || oldest == null) {
+            sweepTarget = null;
+            return spinDirection * Rules.RADAR_TURN_RATE;
+        }
+
+        // Direction is only chosen when a sweep begins, and kept until its target is pinged again
+        double turn = turnTowards(robot, radarHeading, enemies.apply(oldest).getLastKnownLocation());
+        if (!oldest.equals(sweepTarget) || lastSeen.get(oldest) >= sweepStart) {
+            sweepTarget = oldest;
+            sweepStart = tick;
+            spinDirection = turn >= 0 ? 1 : -1;
+        }
+
+        // Target moved away from its last location, so the radar spins until it finds it again
+        if (tick - sweepStart >= MAX_SWEEP_TICKS || Math.signum(turn) == -spinDirection) {
+            return spinDirection * Rules.RADAR_TURN_RATE;
+        }
+
+        // Sweep through the enemy with the oldest information
+        return clamp(turn + spinDirection * SWEEP_OVERSHOOT);
+    }
+
+    private static double turnTowards(Location robot, double radarHeading, Location target) {
+        double angle = ArenaCalculations.angleFromOriginToLocation(robot.getX(), robot.getY(), target.getX(), target.getY());
+        return ArenaCalculations.shortestAngle(ArenaCalculations.angleDeltaRight(radarHeading, angle));
+    }
+
+    private static double clamp(double turn) {
+        return Math.max(-Rules.RADAR_TURN_RATE, Math.min(Rules.RADAR_TURN_RATE, turn));
+    }
+}
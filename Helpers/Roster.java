@@ -0,0 +1,174 @@
+package sa_robocode.Helpers;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Gives every robot a small integer id the first time it is seen, so per robot state can live in arrays
+ * Ids are local to each robot. On the wire, each sender announces the names behind its new ids once,
+ * and receivers translate sender ids into their own
+ */
+public class Roster {
+    public static final int INITIAL_CAPACITY = 16;
+    private static final int UNKNOWN = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int size = 0;
+    private final BitSet teammates = new BitSet();
+
+    // Wire state
+    private int announced = 0;
+    private int[][] translations = new int[INITIAL_CAPACITY][];
+
+    /**
+     * Gets id of a robot, assigning a new one if robot was never seen
+     * @param name Robot name
+     * @return Robot id
+     */
+    public int getId(String name) {
+        Integer id = ids.get(name);
+        if (id != null) return id;
+
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+            translations = Arrays.copyOf(translations, size * 2);
+        }
+
+        names[size] = name;
+        ids.put(name, size);
+
+        return size++;
+    }
+
+    /**
+     * Gets name of a robot
+     * @param id Robot id
+     * @return Robot name
+     */
+    public String getName(int id) {
+        return names[id];
+    }
+
+    /**
+     * Gets number of ids given so far
+     * @return Number of robots seen
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets length needed for arrays indexed by robot id
+     * @return Array capacity
+     */
+    public int getCapacity() {
+        return names.length;
+    }
+
+    public void setTeammate(int id, boolean teammate) {
+        teammates.set(id, teammate);
+    }
+
+    public boolean isTeammate(int id) {
+        return teammates.get(id);
+    }
+
+    /**
+     * Writes id of a robot
+     * @param out Output to write to
+     * @param name Robot name
+     * @throws IOException If output fails
+     */
+    public void writeName(DataOutput out, String name) throws IOException {
+        out.writeShort(getId(name));
+    }
+
+    /**
+     * Reads a robot id written by a teammate, as the robot name
+     * @param in Input to read from
+     * @param sender Id of the teammate that wrote it
+     * @return Robot name
+     * @throws IOException If id was never announced by the teammate
+     */
+    public String readName(DataInput in, int sender) throws IOException {
+        return translate(sender, in.readUnsignedShort());
+    }
+
+    /**
+     * Gets name of a robot from the id given to it by a teammate
+     * @param sender Id of the teammate
+     * @param remote Id given by the teammate
+     * @return Robot name
+     * @throws IOException If id was never announced by the teammate
+     */
+    public String translate(int sender, int remote) throws IOException {
+        int[] translation = translations[sender];
+
+        if (translation == null || remote >= translation.length || translation[remote] == UNKNOWN) {
+            throw new IOException("Unknown robot id " + remote + " from " + names[sender]);
+        }
+
+        return names[translation[remote]];
+    }
+
+    /**
+     * Writes names of ids given since last announcement
+     * @param out Output to write to
+     * @throws IOException If output fails
+     */
+    public void writeAnnouncements(DataOutput out) throws IOException {
+        out.writeShort(size - announced);
+        for (int id=announced; id<size; id++) {
+            out.writeShort(id);
+            out.writeUTF(names[id]);
+        }
+    }
+
+    /**
+     * Checks if there are ids not announced to teammates yet
+     * @return True if some ids need to be announced
+     */
+    public boolean hasPendingAnnouncements() {
+        return announced < size;
+    }
+
+    /**
+     * Marks every id given so far as announced
+     */
+    public void markAnnounced() {
+        announced = size;
+    }
+
+    /**
+     * Reads names of ids announced by a teammate
+     * @param in Input to read from
+     * @param sender Id of the teammate that wrote them
+     * @throws IOException If input fails
+     */
+    public void readAnnouncements(DataInput in, int sender) throws IOException {
+        int count = in.readUnsignedShort();
+
+        for (int i=0; i<count; i++) {
+            int remote = in.readUnsignedShort();
+            int local = getId(in.readUTF());
+
+            int[] translation = translations[sender];
+            if (translation == null || remote >= translation.length) {
+                int length = Math.max(remote + 1, translation == null ? INITIAL_CAPACITY : translation.length * 2);
+                int from = translation == null ? 0 : translation.length;
+
+                translation = translation == null ? new int[length] : Arrays.copyOf(translation, length);
+                Arrays.fill(translation, from, length, UNKNOWN);
+                translations[sender] = translation;
+            }
+
+            translation[remote] = local;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package sa_robocode.Helpers;
+
+import java.util.Arrays;
+
+/**
+ * Decides which teammate reports each enemy, so overlapping radars do not share the same scan
+ * The owner of an enemy is the teammate closest to it, with a margin so ownership does not bounce between similar views.
+ * Owners that stop reporting for HANDOVER_TICKS lose the enemy to the next teammate that scans it.
+ * Every robot applies the same rules to its own scans and to the reports it receives, so all views agree
+ * one tick after a contested report
+ */
+public class ScanOwnership {
+    public static final long HANDOVER_TICKS = 3;
+    private static final double DISTANCE_MARGIN = 50;
+    private static final int NONE = -1;
+
+    private final Roster roster;
+    private int[] owners = new int[Roster.INITIAL_CAPACITY];
+    private long[] reportTicks = new long[Roster.INITIAL_CAPACITY];
+    private double[] distances = new double[Roster.INITIAL_CAPACITY];
+
+    private long reported = 0;
+    private long suppressed = 0;
+
+    /**
+     * Constructor
+     * @param roster Roster giving robot ids
+     */
+    public ScanOwnership(Roster roster) {
+        this.roster = roster;
+        Arrays.fill(owners, NONE);
+    }
+
+    /**
+     * Checks if this robot should report its scan of an enemy, claiming the enemy if so
+     * @param enemy Enemy name
+     * @param self Name of this robot
+     * @param distance Distance to the enemy
+     * @param tick Tick of the scan
+     * @return True if scan should be sent to teammates
+     */
+    public boolean shouldReport(String enemy, String self, double distance, long tick) {
+        boolean report = claim(roster.getId(enemy), roster.getId(self), distance, tick);
+
+        if (report) {
+            reported++;
+        }
+
+        else {
+            suppressed++;
+        }
+
+        return report;
+    }
+
+    /**
+     * Registers a scan reported by a teammate, which takes the enemy over if it wins by the same rules
+     * @param enemy Enemy name
+     * @param sender Name of the teammate that reported it
+     * @param distance Distance from the teammate to the enemy
+     * @param tick Tick of the scan
+     */
+    public void onReport(String enemy, String sender, double distance, long tick) {
+        claim(roster.getId(enemy), roster.getId(sender), distance, tick);
+    }
+
+    /**
+     * Releases every enemy owned by a teammate, when it dies
+     * @param teammate Teammate name
+     */
+    public void release(String teammate) {
+        int id = roster.getId(teammate);
+
+        for (int enemy=0; enemy<owners.length; enemy++) {
+            if (owners[enemy] == id) {
+                owners[enemy] = NONE;
+            }
+        }
+    }
+
+    /**
+     * Forgets owner of an enemy, when it dies
+     * @param enemy Enemy name
+     */
+    public void remove(String enemy) {
+        int id = roster.getId(enemy);
+        if (id < owners.length) {
+            owners[id] = NONE;
+        }
+    }
+
+    private boolean claim(int enemy, int claimant, double distance, long tick) {
+        if (enemy >= owners.length) {
+            int from = owners.length;
+            owners = Arrays.copyOf(owners, roster.getCapacity());
+            reportTicks = Arrays.copyOf(reportTicks, roster.getCapacity());
+            distances = Arrays.copyOf(distances, roster.getCapacity());
+            Arrays.fill(owners, from, owners.length, NONE);
+        }
+
+        int owner = owners[enemy];
+        boolean wins = owner == NONE
+                || owner == claimant
+                || tick - reportTicks[enemy] > HANDOVER_TICKS
+                || distance < distances[enemy] - DISTANCE_MARGIN
+                || (tick == reportTicks[enemy] && beats(claimant, distance, owner, distances[enemy]));
+
+        if (wins) {
+            owners[enemy] = claimant;
+            reportTicks[enemy] = Math.max(reportTicks[enemy], tick);
+            distances[enemy] = distance;
+        }
+
+        return wins;
+    }
+
+    // Two reports of the same tick are settled by distance, then by name, the same way on every robot
+    private boolean beats(int claimant, double distance, int owner, double ownerDistance) {
+        if (distance != ownerDistance) return distance < ownerDistance;
+        return roster.getName(claimant).compareTo(roster.getName(owner)) < 0;
+    }
+
+    /**
+     * Gets fraction of own scans that were reported
+     * @return Report ratio, from 0 to 1
+     */
+    public double getReportRatio() {
+        long scans = reported + suppressed;
+        return scans == 0 ? 0 : (double) reported / scans;
+    }
+}
@@ -0,0 +1,84 @@
+package sa_robocode.Helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timing wheel to expire items on a given tick
+ * Items are hashed by expiry tick into a fixed number of buckets, so advancing the wheel only visits the buckets of the elapsed ticks
+ * @param <T> Type of the scheduled items
+ */
+public class TimingWheel<T> {
+    private final List<List<Slot<T>>> buckets;
+    private final List<T> expired = new ArrayList<>();
+    private final int mask;
+    private long currentTick = -1;
+
+    /**
+     * Item scheduled with its expiry tick
+     */
+    private static class Slot<T> {
+        private final T item;
+        private final long tick;
+
+        private Slot(T item, long tick) {
+            this.item = item;
+            this.tick = tick;
+        }
+    }
+
+    /**
+     * Constructor
+     * @param size Number of buckets, rounded up to a power of two
+     */
+    public TimingWheel(int size) {
+        int buckets = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+        this.buckets = new ArrayList<>(buckets);
+        this.mask = buckets - 1;
+
+        for (int i=0; i<buckets; i++) {
+            this.buckets.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Schedules an item to expire on a given tick
+     * Items scheduled to a tick that already passed expire on the next advance
+     * @param item Item to schedule
+     * @param tick Tick on which the item expires
+     */
+    public void schedule(T item, long tick) {
+        long bucketTick = Math.max(tick, currentTick + 1);
+        buckets.get((int) (bucketTick & mask)).add(new Slot<>(item, tick));
+    }
+
+    /**
+     * Advances the wheel up to a given tick, collecting every item that expired meanwhile
+     * @param tick Current tick
+     * @return Items expired since last advance, only valid until the next call
+     */
+    public List<T> advance(long tick) {
+        expired.clear();
+
+        // If more ticks than buckets went by, each bucket only needs to be visited once
+        long from = Math.max(currentTick + 1, tick - mask);
+
+        for (long t = from; t <= tick; t++) {
+            List<Slot<T>> bucket = buckets.get((int) (t & mask));
+
+            for (int i = bucket.size() - 1; i >= 0; i--) {
+                Slot<T> slot = bucket.get(i);
+
+                // Slots from further rounds of the wheel stay in the bucket
+                if (slot.tick <= tick) {
+                    expired.add(slot.item);
+                    bucket.set(i, bucket.get(bucket.size() - 1));
+                    bucket.remove(bucket.size() - 1);
+                }
+            }
+        }
+
+        currentTick = Math.max(currentTick, tick);
+        return expired;
+    }
+}
@@ -1,5 +1,7 @@
 package sa_robocode.Helpers;
 
+import robocode.Rules;
+import robocode.ScannedRobotEvent;
 import sa_robocode.Communication.ScanInfo;
 
 import java.io.Serializable;
@@ -12,19 +14,37 @@ public class Tracker implements Serializable {
     private static final int CRAB_THRESHOLD = 50;
     private static final int SHARK_THRESHOLD = 6;
     private static final int PROJECTION_MAX_MISSING_DATA_POINTS = 4;
+    // Fire tick is only known within a tick when pings are close, wider gaps would misplace the wave by a bullet step per tick
+    private static final long MAX_SHOT_DETECTION_GAP = 2;
+    private static final double ENERGY_TOLERANCE = 0.001;
+    private static final double CONFIDENCE_HALF_LIFE = 20.0;
 
     private final List<ScanInfo> pings;
+    // Pings teammates also have, only these are used for ranking
+    private final List<ScanInfo> sharedPings;
     private final String name;
     private TrackerType trackerType;
+    private TrackerTier tier;
     private Circle circle;
     private Line line;
     private Location stopped;
     public Projection projection;
+    private double lastShotPower = 0;
+    private long lastShotTick = 0;
+    private Location lastShotOrigin = null;
+
+    // Long horizon history is only kept locally, it is not shared with teammates
+    private transient EnemyHistory history;
+    private transient HistoryMatcher matcher;
+    private long matchedTick = -1;
 
     public Tracker(String name) {
         this.pings = new ArrayList<>();
+        this.sharedPings = new ArrayList<>();
         this.name = name;
         this.trackerType = TrackerType.PROJECTION;
+        this.tier = TrackerTier.ACTIVE;
+        this.history = new EnemyHistory();
     }
 
     public String getName() {
@@ -34,17 +54,152 @@ public class Tracker implements Serializable {
     public void addPing(ScanInfo si) {
         // Adds to pings if list is empty, or it the last ping isn't from the same tick
         if (pings.size() == 0 || pings.get(0).getScannedRobotEvent().getTime() != si.getScannedRobotEvent().getTime()) {
+            detectShot(si);
+
             if (pings.size() >= MAX_PINGS) {
                 pings.remove(pings.size()-1);
             }
             pings.add(0, si);
+
+            if (history != null) {
+                ScannedRobotEvent sre = si.getScannedRobotEvent();
+                history.add(sre.getTime(), si.getLocation().getX(), si.getLocation().getY(), sre.getHeading(), sre.getVelocity(), sre.getEnergy());
+            }
         }
     }
 
+    /**
+     * Adds a ping teammates also have, reported by this robot or received from a teammate
+     * Reports can arrive after newer local pings, so they are kept apart and in tick order
+     * @param si Reported ping
+     */
+    public void addSharedPing(ScanInfo si) {
+        ScannedRobotEvent sre = si.getScannedRobotEvent();
+        int index = indexAt(sre.getTime());
+
+        // Contested enemies can be reported twice on the same tick, and the closest report is kept whatever the arrival order
+        if (index < sharedPings.size() && sharedPings.get(index).getScannedRobotEvent().getTime() == sre.getTime()) {
+            if (sre.getDistance() < sharedPings.get(index).getScannedRobotEvent().getDistance()) {
+                sharedPings.set(index, si);
+            }
+            return;
+        }
+
+        sharedPings.add(index, si);
+        if (sharedPings.size() > MAX_PINGS) {
+            sharedPings.remove(sharedPings.size()-1);
+        }
+    }
+
+    /**
+     * Detects if enemy fired between last ping and a new one, from its energy drop
+     * Gun heat only allows one shot in the allowed gap, so a drop within bullet power limits is taken as a shot
+     * @param si New ping
+     */
+    private void detectShot(ScanInfo si) {
+        lastShotPower = 0;
+        if (pings.size() == 0) return;
+
+        ScannedRobotEvent previous = pings.get(0).getScannedRobotEvent();
+        long gap = si.getScannedRobotEvent().getTime() - previous.getTime();
+        double drop = previous.getEnergy() - si.getScannedRobotEvent().getEnergy();
+
+        if (gap > 0 && gap <= MAX_SHOT_DETECTION_GAP
+                && drop >= Rules.MIN_BULLET_POWER - ENERGY_TOLERANCE && drop <= Rules.MAX_BULLET_POWER + ENERGY_TOLERANCE) {
+            lastShotPower = drop;
+            lastShotTick = previous.getTime() + 1;
+            lastShotOrigin = pings.get(0).getLocation();
+        }
+    }
+
+    /**
+     * Gets power of a shot detected with the last ping
+     * @return Bullet power, 0 if last ping did not detect a shot
+     */
+    public double getLastShotPower() {
+        return lastShotPower;
+    }
+
+    public long getLastShotTick() {
+        return lastShotTick;
+    }
+
+    public Location getLastShotOrigin() {
+        return lastShotOrigin;
+    }
+
+    public TrackerTier getTier() {
+        return tier;
+    }
+
+    public void setTier(TrackerTier tier) {
+        this.tier = tier;
+    }
+
+    public long getLastSeenTick() {
+        if (pings.size() == 0) return -1;
+        return pings.get(0).getScannedRobotEvent().getTime();
+    }
+
+    /**
+     * Gets tick of the last shared ping taken up to a cutoff tick
+     * @param cutoff Newest tick to consider
+     * @return Tick of the ping, -1 if there is none
+     */
+    public long getLastSeenTick(long cutoff) {
+        int index = indexAt(cutoff);
+        if (index == sharedPings.size()) return -1;
+        return sharedPings.get(index).getScannedRobotEvent().getTime();
+    }
+
+    /**
+     * Gets energy of the last shared ping taken up to a cutoff tick
+     * @param cutoff Newest tick to consider
+     * @return Enemy energy, 0 if there is no ping
+     */
+    public double getLastKnownEnergy(long cutoff) {
+        int index = indexAt(cutoff);
+        if (index == sharedPings.size()) return 0;
+        return sharedPings.get(index).getScannedRobotEvent().getEnergy();
+    }
+
+    /**
+     * Gets confidence on shared information at a cutoff tick, which halves every CONFIDENCE_HALF_LIFE ticks without pings
+     * @param cutoff Tick to evaluate
+     * @return Confidence, from 0 to 1
+     */
+    public double getConfidence(long cutoff) {
+        long lastSeen = getLastSeenTick(cutoff);
+        if (lastSeen < 0) return 0;
+        return Math.pow(0.5, (cutoff - lastSeen) / CONFIDENCE_HALF_LIFE);
+    }
+
+    // Shared pings are newest first, so only the few taken after the cutoff are skipped
+    private int indexAt(long cutoff) {
+        int index = 0;
+        while (index < sharedPings.size() && sharedPings.get(index).getScannedRobotEvent().getTime() > cutoff) {
+            index++;
+        }
+
+        return index;
+    }
+
     public TrackerType getTrackerType() {
         return trackerType;
     }
 
+    public Location getStopped() {
+        return stopped;
+    }
+
+    public Line getLine() {
+        return line;
+    }
+
+    public Circle getCircle() {
+        return circle;
+    }
+
     public double getLastKnownEnergy() {
         if (pings.size() == 0) return 0;
         return pings.get(0).getScannedRobotEvent().getEnergy();
@@ -67,13 +222,58 @@ public class Tracker implements Serializable {
         this.projection = null;
     }
 
-    public void findPatterns() {
+    /**
+     * Sets a pattern fitted elsewhere, falling back to linear if local pings or pattern parameters are not enough for it
+     * @param trackerType Pattern type
+     * @param stopped Location for DUCK pattern
+     * @param line Line for CRAB pattern
+     * @param circle Circle for SHARK pattern
+     * @param projection Projection for PROJECTION pattern
+     */
+    public void setPatterns(TrackerType trackerType, Location stopped, Line line, Circle circle, Projection projection) {
+        resetPatterns();
+
+        switch (trackerType) {
+            case DUCK -> {
+                if (stopped == null) return;
+                this.stopped = stopped;
+            }
+
+            case CRAB -> {
+                if (line == null || pings.size() < 2) return;
+                this.line = line;
+            }
+
+            case SHARK -> {
+                if (circle == null || pings.size() < 2) return;
+                this.circle = circle;
+            }
+
+            case PROJECTION -> {
+                if (projection == null) return;
+                this.projection = projection;
+            }
+
+            case LINEAR -> {
+                return;
+            }
+        }
+
+        this.trackerType = trackerType;
+    }
+
+    /**
+     * Fits patterns only to shared pings taken up to a cutoff tick, so that teammates with the same reports up to it get the same result
+     * @param cutoff Newest tick to consider
+     */
+    public void findPatterns(long cutoff) {
+        List<ScanInfo> window = sharedPings.subList(indexAt(cutoff), sharedPings.size());
         resetPatterns();
 
-        Location duck = PatternFinder.patternSittingDuck(pings, DUCK_THRESHOLD);
-        Line crab = PatternFinder.patternCrab(pings, CRAB_THRESHOLD);
-        Circle shark = PatternFinder.patternShark(pings, SHARK_THRESHOLD);
-        Projection projection = PatternFinder.patternProjection(pings, PROJECTION_MAX_MISSING_DATA_POINTS);
+        Location duck = PatternFinder.patternSittingDuck(window, DUCK_THRESHOLD);
+        Line crab = PatternFinder.patternCrab(window, CRAB_THRESHOLD);
+        Circle shark = PatternFinder.patternShark(window, SHARK_THRESHOLD);
+        Projection projection = PatternFinder.patternProjection(window, PROJECTION_MAX_MISSING_DATA_POINTS);
 
 
         if (duck != null) {
@@ -81,12 +281,13 @@ public class Tracker implements Serializable {
             this.stopped = duck;
         }
 
-        else if (crab != null) {
+        // Lines and circles are extrapolated from the last two local pings, as in setPatterns
+        else if (crab != null && pings.size() >= 2) {
             trackerType = TrackerType.CRAB;
             this.line = crab;
         }
 
-        else if (shark != null) {
+        else if (shark != null && pings.size() >= 2) {
             trackerType = TrackerType.SHARK;
             this.circle = shark;
         }
@@ -138,12 +339,36 @@ public class Tracker implements Serializable {
 
             case PROJECTION -> future = projection.getLocationByTick(tick);
 
-            case LINEAR -> future = ArenaCalculations.angleToUnitVector(lastKnown.getScannedRobotEvent().getHeading()).
-                        setLength(lastKnown.getScannedRobotEvent().getVelocity() * (tick - lastKnown.getScannedRobotEvent().getTime())).
-                        apply(lastKnown.getLocation());
+            case LINEAR -> {
+                future = predictFromHistory(tick);
+
+                if (future == null) {
+                    future = ArenaCalculations.angleToUnitVector(lastKnown.getScannedRobotEvent().getHeading()).
+                            setLength(lastKnown.getScannedRobotEvent().getVelocity() * (tick - lastKnown.getScannedRobotEvent().getTime())).
+                            apply(lastKnown.getLocation());
+                }
+            }
 
         }
 
         return future;
     }
+
+    /**
+     * Predicts enemy without a pattern by replaying what it did after the most similar moment of its long horizon history
+     * Matching is only redone when a new ping arrives
+     * @param tick Tick to predict
+     * @return Predicted location, null if there is no history or no similar enough moment
+     */
+    private Location predictFromHistory(long tick) {
+        if (history == null) return null;
+
+        if (matchedTick != getLastSeenTick()) {
+            if (matcher == null) matcher = new HistoryMatcher();
+            matcher.match(history);
+            matchedTick = getLastSeenTick();
+        }
+
+        return matcher.getLocationByTick(tick);
+    }
 }
@@ -0,0 +1,89 @@
+package sa_robocode.Helpers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ages trackers from active to stale to dormant, as time goes by without new pings
+ * Each tracker has one pending check in a timing wheel, and pings in between only reschedule it lazily
+ * when the check expires, so no tracker is visited on ticks where it cannot change tier.
+ * A ping that makes the pending check too late, like the dormant check of a stale tracker, schedules an earlier one,
+ * and the wheel entry of the later check is ignored when it expires
+ */
+public class TrackerLifecycle {
+    public static final long STALE_AGE = 16;
+    public static final long DORMANT_AGE = 80;
+    private static final int WHEEL_SIZE = 128;
+
+    private final TimingWheel<Tracker> wheel = new TimingWheel<>(WHEEL_SIZE);
+    private final Map<String, Tracker> pending = new HashMap<>();
+    private final Map<String, Long> dueTicks = new HashMap<>();
+
+    /**
+     * Registers a new ping of a tracker, making it active again
+     * @param tracker Tracker that got a new ping
+     */
+    public void onPing(Tracker tracker) {
+        tracker.setTier(TrackerTier.ACTIVE);
+        long staleTick = tracker.getLastSeenTick() + STALE_AGE;
+
+        if (pending.get(tracker.getName()) != tracker || dueTicks.get(tracker.getName()) > staleTick) {
+            schedule(tracker, staleTick);
+        }
+    }
+
+    /**
+     * Stops aging a tracker, when the enemy dies or turns out to be a teammate
+     * @param name Tracker name
+     */
+    public void remove(String name) {
+        pending.remove(name);
+        dueTicks.remove(name);
+    }
+
+    private void schedule(Tracker tracker, long tick) {
+        pending.put(tracker.getName(), tracker);
+        dueTicks.put(tracker.getName(), tick);
+        wheel.schedule(tracker, tick);
+    }
+
+    /**
+     * Gets tier of a tracker from the age of its last ping
+     * @param age Ticks since last ping
+     * @return Tracker tier
+     */
+    public static TrackerTier tierOf(long age) {
+        return age >= DORMANT_AGE ? TrackerTier.DORMANT : (age >= STALE_AGE ? TrackerTier.STALE : TrackerTier.ACTIVE);
+    }
+
+    /**
+     * Updates tiers of trackers whose checks expired
+     * @param tick Current tick
+     * @return True if any tracker changed tier
+     */
+    public boolean advance(long tick) {
+        List<Tracker> expired = wheel.advance(tick);
+        boolean changed = false;
+
+        for (Tracker tracker : expired) {
+            // Removed or replaced trackers are ignored, and so are checks superseded by a later one
+            if (pending.get(tracker.getName()) != tracker || dueTicks.get(tracker.getName()) > tick) continue;
+
+            TrackerTier tier = tierOf(tick - tracker.getLastSeenTick());
+            changed |= tier != tracker.getTier();
+            tracker.setTier(tier);
+
+            // Dormant trackers only come back with a new ping
+            if (tier == TrackerTier.DORMANT) {
+                remove(tracker.getName());
+            }
+
+            else {
+                schedule(tracker, tracker.getLastSeenTick() + (tier == TrackerTier.ACTIVE ? STALE_AGE : DORMANT_AGE));
+            }
+        }
+
+        return changed;
+    }
+}
@@ -0,0 +1,9 @@
+package sa_robocode.Helpers;
+
+import java.io.Serializable;
+
+public enum TrackerTier implements Serializable {
+    ACTIVE,
+    STALE,
+    DORMANT
+}
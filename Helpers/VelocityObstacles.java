@@ -0,0 +1,120 @@
+package sa_robocode.Helpers;
+
+import robocode.Rules;
+
+/**
+ * Predictive collision avoidance with velocity obstacles
+ * A candidate velocity is forbidden if, keeping it, the robot gets closer than a safe distance to any teammate
+ * in the next ticks, assuming teammates keep their estimated velocity. The allowed candidate closest to the desired
+ * velocity is chosen, and the desired one is accepted straight away when allowed, needing O(teammates) work
+ */
+public class VelocityObstacles {
+    private static final double SAFE_DISTANCE = 60.0;
+    private static final double[] HEADING_OFFSETS = {0, 15, -15, 30, -30, 45, -45, 60, -60, 90, -90, 120, -120, 150, -150, 180};
+    private static final double SPEED_COST = 0.5;
+
+    private final int horizon;
+    // Absolute speeds, so a stopped robot can still move out of the way, the first one is the desired speed
+    private final double[] candidateSpeeds = {0, Rules.MAX_VELOCITY / 2, 0};
+    private double heading;
+    private double speed;
+
+    /**
+     * Constructor
+     * @param horizon Number of future ticks checked for collisions
+     */
+    public VelocityObstacles(int horizon) {
+        this.horizon = horizon;
+    }
+
+    /**
+     * Chooses the allowed velocity closest to the desired one
+     * @param x Robot X coordinate
+     * @param y Robot Y coordinate
+     * @param desiredHeading Desired direction of travel, arena angle
+     * @param desiredSpeed Desired speed
+     * @param teammates Teammates kinematics
+     * @param tick Current tick
+     * @return True if the desired velocity had to be changed
+     */
+    public boolean avoid(double x, double y, double desiredHeading, double desiredSpeed, KinematicsTable teammates, long tick) {
+        heading = desiredHeading;
+        speed = desiredSpeed;
+
+        if (teammates.size() == 0 || clearance(x, y, desiredHeading, desiredSpeed, teammates, tick) >= SAFE_DISTANCE) {
+            return false;
+        }
+
+        double bestCost = Double.POSITIVE_INFINITY;
+        double bestClearance = 0;
+
+        candidateSpeeds[0] = desiredSpeed;
+
+        for (double candidateSpeed : candidateSpeeds) {
+            for (double offset : HEADING_OFFSETS) {
+                double candidateHeading = (desiredHeading + offset + 360) % 360;
+                double candidateClearance = clearance(x, y, candidateHeading, candidateSpeed, teammates, tick);
+                double cost = Math.abs(offset) / 180 + SPEED_COST * Math.abs(desiredSpeed - candidateSpeed) / Rules.MAX_VELOCITY;
+                boolean allowed = candidateClearance >= SAFE_DISTANCE;
+
+                // Closest allowed velocity, or the one keeping further away if none is allowed
+                if ((allowed && cost < bestCost) || (bestCost == Double.POSITIVE_INFINITY && candidateClearance > bestClearance)) {
+                    heading = candidateHeading;
+                    speed = candidateSpeed;
+                    bestClearance = candidateClearance;
+                    if (allowed) bestCost = cost;
+                }
+
+                // Zero speed is the same for every heading
+                if (candidateSpeed == 0) break;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Calculates the minimum distance to any teammate within the horizon, for a given velocity
+     * @param x Robot X coordinate
+     * @param y Robot Y coordinate
+     * @param candidateHeading Direction of travel, arena angle
+     * @param candidateSpeed Speed
+     * @param teammates Teammates kinematics
+     * @param tick Current tick
+     * @return Minimum distance at the closest approach
+     */
+    private double clearance(double x, double y, double candidateHeading, double candidateSpeed, KinematicsTable teammates, long tick) {
+        double radians = Math.toRadians(candidateHeading);
+        double vx = Math.sin(radians) * candidateSpeed;
+        double vy = Math.cos(radians) * candidateSpeed;
+        double minimum = Double.POSITIVE_INFINITY;
+
+        for (int i=0; i<teammates.size(); i++) {
+            double px = teammates.getX(i, tick) - x;
+            double py = teammates.getY(i, tick) - y;
+            double rvx = teammates.getVelocityX(i) - vx;
+            double rvy = teammates.getVelocityY(i) - vy;
+
+            // Time of closest approach, limited to the horizon
+            double relativeSpeedSquared = rvx * rvx + rvy * rvy;
+            double t = relativeSpeedSquared > 0 ? -(px * rvx + py * rvy) / relativeSpeedSquared : 0;
+
+            // Already separating teammates are not a threat, even if close
+            if (t <= 0 && relativeSpeedSquared > 0) continue;
+
+            t = Math.min(horizon, t);
+
+            minimum = Math.min(minimum, Math.hypot(px + rvx * t, py + rvy * t));
+        }
+
+        return minimum;
+    }
+
+    public double getHeading() {
+        return heading;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+}
@@ -0,0 +1,167 @@
+package sa_robocode.Helpers;
+
+import robocode.Rules;
+
+/**
+ * Predictive wall smoothing, finding the smallest heading change that keeps the robot away from the walls in the next ticks
+ * Answers only depend on distance to wall, angle to wall and speed, so they are simulated once into lookup tables,
+ * and each query is a bounded number of table lookups
+ */
+public class WallSmoothing {
+    private static final double WALL_MARGIN = 26.0;
+    private static final int SMOOTHING_TICKS = 20;
+    private static final double DISTANCE_STEP = 4.0;
+    private static final int DISTANCE_CELLS = 41;
+    private static final double ANGLE_STEP = 3.0;
+    private static final int ANGLE_CELLS = 61;
+    private static final int SPEED_CELLS = (int) Rules.MAX_VELOCITY + 1;
+    private static final double TURN_STEP = 2.0;
+    private static final double TURN_RATE_VELOCITY_FACTOR = 0.75;
+    private static final double QUERY_TURN_STEP = 3.0;
+
+    /**
+     * Smallest turn away from a wall, and largest turn towards it, that keep the robot clear of the wall
+     * Both are indexed by distance, angle between heading and wall direction, and speed
+     */
+    private static final float[] AWAY_TABLE = new float[DISTANCE_CELLS * ANGLE_CELLS * SPEED_CELLS];
+    private static final float[] TOWARDS_TABLE = new float[DISTANCE_CELLS * ANGLE_CELLS * SPEED_CELLS];
+
+    static {
+        double[] awayDepth = new double[(int) (180 / TURN_STEP) + 1];
+        double[] towardsDepth = new double[(int) (360 / TURN_STEP) + 1];
+
+        for (int a=0; a<ANGLE_CELLS; a++) {
+            for (int v=0; v<SPEED_CELLS; v++) {
+                double angle = a * ANGLE_STEP;
+
+                // How far towards the wall each turn leads, which does not depend on the distance to it
+                int awayTurns = 0;
+                for (double turn=0; turn<180-angle; turn+=TURN_STEP) {
+                    awayDepth[awayTurns++] = depth(angle, turn, v);
+                }
+
+                int towardsTurns = 0;
+                for (double turn=0; turn<=angle+180; turn+=TURN_STEP) {
+                    towardsDepth[towardsTurns++] = depth(angle, -turn, v);
+                }
+
+                for (int d=0; d<DISTANCE_CELLS; d++) {
+                    double distance = d * DISTANCE_STEP;
+                    double allowed = distance - Math.min(WALL_MARGIN, distance);
+
+                    double away = 180 - angle;
+                    for (int i=0; i<awayTurns; i++) {
+                        if (awayDepth[i] <= allowed) {
+                            away = i * TURN_STEP;
+                            break;
+                        }
+                    }
+
+                    double towards = -1;
+                    for (int i=0; i<towardsTurns && towardsDepth[i] <= allowed; i++) {
+                        towards = i * TURN_STEP;
+                    }
+
+                    AWAY_TABLE[index(d, a, v)] = (float) away;
+                    TOWARDS_TABLE[index(d, a, v)] = (float) towards;
+                }
+            }
+        }
+    }
+
+    private static int index(int distance, int angle, int speed) {
+        return (distance * ANGLE_CELLS + angle) * SPEED_CELLS + speed;
+    }
+
+    /**
+     * Simulates travel near a wall, turning at the maximum rate while keeping speed
+     * @param angle Angle between heading and the direction of the wall, from 0 (heading into wall) to 180
+     * @param turn Turn to simulate, positive away from the wall
+     * @param speed Current speed
+     * @return Largest distance travelled towards the wall in the next ticks
+     */
+    private static double depth(double angle, double turn, double speed) {
+        double rate = Rules.MAX_TURN_RATE - TURN_RATE_VELOCITY_FACTOR * speed;
+        double target = angle + turn;
+        double heading = angle;
+        double travelled = 0;
+        double deepest = 0;
+
+        for (int t=0; t<SMOOTHING_TICKS; t++) {
+            heading = turn >= 0 ? Math.min(target, heading + rate) : Math.max(target, heading - rate);
+            travelled += speed * Math.cos(Math.toRadians(heading));
+            deepest = Math.max(deepest, travelled);
+        }
+
+        return deepest;
+    }
+
+    private final double arenaWidth;
+    private final double arenaHeight;
+
+    /**
+     * Constructor
+     * @param arenaWidth Arena width
+     * @param arenaHeight Arena height
+     */
+    public WallSmoothing(double arenaWidth, double arenaHeight) {
+        this.arenaWidth = arenaWidth;
+        this.arenaHeight = arenaHeight;
+    }
+
+    /**
+     * Smooths a travel heading along the walls, trying growing turns to both sides until one is safe for every wall
+     * @param x Robot X coordinate
+     * @param y Robot Y coordinate
+     * @param heading Desired direction of travel, arena angle
+     * @param speed Current speed
+     * @return Closest heading to the desired one that does not lead into a wall
+     */
+    public double smooth(double x, double y, double heading, double speed) {
+        int speedCell = Math.min(SPEED_CELLS - 1, (int) Math.ceil(Math.abs(speed)));
+
+        for (double turn=0; turn<=180; turn+=QUERY_TURN_STEP) {
+            if (isSafe(x, y, heading, turn, speedCell)) {
+                return (heading + turn) % 360;
+            }
+
+            if (turn > 0 && isSafe(x, y, heading, -turn, speedCell)) {
+                return (heading - turn + 360) % 360;
+            }
+        }
+
+        return (heading + 180) % 360;
+    }
+
+    private boolean isSafe(double x, double y, double heading, double turn, int speedCell) {
+        return isSafeFromWall(x, 270, heading, turn, speedCell)
+                && isSafeFromWall(arenaWidth - x, 90, heading, turn, speedCell)
+                && isSafeFromWall(y, 180, heading, turn, speedCell)
+                && isSafeFromWall(arenaHeight - y, 0, heading, turn, speedCell);
+    }
+
+    /**
+     * Checks if a turn keeps the robot away from a wall, rounding towards the safe side
+     * @param distance Distance to wall
+     * @param wallDirection Arena angle pointing to the wall
+     * @param heading Direction of travel
+     * @param turn Signed turn, positive to the right
+     * @param speedCell Speed index
+     * @return True if safe
+     */
+    private static boolean isSafeFromWall(double distance, double wallDirection, double heading, double turn, int speedCell) {
+        int distanceCell = (int) (Math.max(distance, 0) / DISTANCE_STEP);
+        if (distanceCell >= DISTANCE_CELLS) return true;
+
+        // Turning right increases the angle to the wall when heading is clockwise from it
+        double relative = ArenaCalculations.shortestAngle(ArenaCalculations.angleDeltaRight(wallDirection, heading));
+        int cell = index(distanceCell, angleCell(relative), speedCell);
+        boolean turningAway = turn == 0 || relative == 0 || Math.signum(turn) == Math.signum(relative);
+
+        return turningAway ? Math.abs(turn) >= AWAY_TABLE[cell] : Math.abs(turn) <= TOWARDS_TABLE[cell];
+    }
+
+    private static int angleCell(double relative) {
+        return Math.min((int) (Math.abs(relative) / ANGLE_STEP), ANGLE_CELLS - 1);
+    }
+}
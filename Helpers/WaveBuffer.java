@@ -0,0 +1,129 @@
+package sa_robocode.Helpers;
+
+import robocode.Rules;
+
+/**
+ * Pooled buffer of enemy bullet waves, stored in primitive arrays
+ * Waves are added and removed by swapping slots, so the buffer never allocates after construction
+ */
+public class WaveBuffer {
+    private static final double PASSED_MARGIN = 50.0;
+
+    private final double[] originX;
+    private final double[] originY;
+    private final long[] fireTick;
+    private final double[] power;
+    private final double[] speed;
+    private final double[] headOnAngle;
+    private final double[] linearAngle;
+    private int count = 0;
+
+    /**
+     * Constructor
+     * @param capacity Maximum number of simultaneous waves
+     */
+    public WaveBuffer(int capacity) {
+        this.originX = new double[capacity];
+        this.originY = new double[capacity];
+        this.fireTick = new long[capacity];
+        this.power = new double[capacity];
+        this.speed = new double[capacity];
+        this.headOnAngle = new double[capacity];
+        this.linearAngle = new double[capacity];
+    }
+
+    /**
+     * Adds a new wave
+     * @param x Origin X coordinate
+     * @param y Origin Y coordinate
+     * @param tick Tick when bullet was fired
+     * @param bulletPower Power of the bullet
+     * @param headOn Arena angle of a head-on shot at the robot
+     * @param linear Arena angle of a linear shot at the robot
+     * @return True if added, false if buffer is full
+     */
+    public boolean add(double x, double y, long tick, double bulletPower, double headOn, double linear) {
+        if (count == originX.length) {
+            return false;
+        }
+
+        originX[count] = x;
+        originY[count] = y;
+        fireTick[count] = tick;
+        power[count] = bulletPower;
+        speed[count] = Rules.getBulletSpeed(bulletPower);
+        headOnAngle[count] = headOn;
+        linearAngle[count] = linear;
+        count++;
+
+        return true;
+    }
+
+    /**
+     * Removes waves that already passed the robot
+     * @param tick Current tick
+     * @param robotX Robot X coordinate
+     * @param robotY Robot Y coordinate
+     */
+    public void expire(long tick, double robotX, double robotY) {
+        int i = 0;
+
+        while (i < count) {
+            if (getRadius(i, tick) > Math.hypot(robotX - originX[i], robotY - originY[i]) + PASSED_MARGIN) {
+                remove(i);
+            }
+            else {
+                i++;
+            }
+        }
+    }
+
+    private void remove(int i) {
+        count--;
+        originX[i] = originX[count];
+        originY[i] = originY[count];
+        fireTick[i] = fireTick[count];
+        power[i] = power[count];
+        speed[i] = speed[count];
+        headOnAngle[i] = headOnAngle[count];
+        linearAngle[i] = linearAngle[count];
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public double getOriginX(int i) {
+        return originX[i];
+    }
+
+    public double getOriginY(int i) {
+        return originY[i];
+    }
+
+    public double getPower(int i) {
+        return power[i];
+    }
+
+    public double getSpeed(int i) {
+        return speed[i];
+    }
+
+    public double getHeadOnAngle(int i) {
+        return headOnAngle[i];
+    }
+
+    public double getLinearAngle(int i) {
+        return linearAngle[i];
+    }
+
+    /**
+     * Gets distance travelled by a wave
+     * @param i Wave index
+     * @param tick Tick to check
+     * @return Wave radius
+     */
+    public double getRadius(int i, long tick) {
+        return speed[i] * (tick - fireTick[i]);
+    }
+}
@@ -0,0 +1,221 @@
+package sa_robocode.Helpers;
+
+import robocode.Rules;
+
+import java.util.Arrays;
+
+/**
+ * Wave surfing movement, choosing between a few surf options the one less likely to be hit by enemy bullet waves
+ * Each option is simulated with a MovementPredictor and scored against every active wave, so each tick costs
+ * O(active waves * options) over a fixed horizon, without allocating
+ */
+public class WaveSurfer {
+    private static final int OPTIONS = 5;
+    private static final double SURF_DISTANCE = 100.0;
+    private static final double HALF_ROBOT_SIZE = 18.0;
+    private static final int MAX_INTERCEPT_ITERATIONS = 100;
+    private static final double GRID_DANGER_WEIGHT = 0.2;
+    private static final double OUT_OF_ZONE_DANGER = 2.0;
+    private static final double TARGET_DISTANCE_MARGIN = 100.0;
+    private static final int STATE_HISTORY = 16;
+
+    private final WaveBuffer waves;
+    private final MovementPredictor predictor;
+    private final double[] optionTurn = new double[OPTIONS];
+    private final double[] optionDistance = new double[OPTIONS];
+    private int bestOption = 0;
+
+    // Own state on recent ticks, to aim waves from where the robot was when the enemy aimed
+    private final long[] stateTick = new long[STATE_HISTORY];
+    private final double[] stateX = new double[STATE_HISTORY];
+    private final double[] stateY = new double[STATE_HISTORY];
+    private final double[] stateHeading = new double[STATE_HISTORY];
+    private final double[] stateVelocity = new double[STATE_HISTORY];
+
+    /**
+     * Constructor
+     * @param arenaWidth Arena width
+     * @param arenaHeight Arena height
+     * @param horizon Number of future ticks to simulate for each option
+     * @param capacity Maximum number of simultaneous waves
+     */
+    public WaveSurfer(double arenaWidth, double arenaHeight, int horizon, int capacity) {
+        this.waves = new WaveBuffer(capacity);
+        this.predictor = new MovementPredictor(arenaWidth, arenaHeight, horizon);
+        Arrays.fill(stateTick, -1);
+    }
+
+    /**
+     * Records own state of the current tick
+     * @param frame NavigationFrame of current tick
+     */
+    public void record(NavigationFrame frame) {
+        int slot = (int) (frame.getTick() % STATE_HISTORY);
+        stateTick[slot] = frame.getTick();
+        stateX[slot] = frame.getLocation().getX();
+        stateY[slot] = frame.getLocation().getY();
+        stateHeading[slot] = frame.getHeading();
+        stateVelocity[slot] = frame.getVelocity();
+    }
+
+    /**
+     * Adds wave of a detected enemy shot, assuming it aimed at the robot either head-on or linearly on the tick before firing
+     * Shots are only surfed if the robot was about as close to the shooter as the closest teammate, as others were likely aimed elsewhere
+     * @param origin Location where enemy fired from
+     * @param fireTick Tick when enemy fired
+     * @param power Power of the bullet
+     * @param teammateDistance Distance from the shooter to the closest teammate when it aimed
+     * @return True if wave was added
+     */
+    public boolean addWave(Location origin, long fireTick, double power, double teammateDistance) {
+        long aimTick = fireTick - 1;
+        int slot = (int) Math.floorMod(aimTick, (long) STATE_HISTORY);
+        if (stateTick[slot] != aimTick) return false;
+
+        double robotX = stateX[slot];
+        double robotY = stateY[slot];
+        if (Math.hypot(robotX - origin.getX(), robotY - origin.getY()) > teammateDistance + TARGET_DISTANCE_MARGIN) return false;
+
+        double headOn = ArenaCalculations.angleFromOriginToLocation(origin.getX(), origin.getY(), robotX, robotY);
+        double linear = headOn;
+
+        // Find where the robot would be when the bullet reaches it, if keeping its course
+        double bulletSpeed = Rules.getBulletSpeed(power);
+        double headingRadians = Math.toRadians(stateHeading[slot]);
+        double stepX = Math.sin(headingRadians) * stateVelocity[slot];
+        double stepY = Math.cos(headingRadians) * stateVelocity[slot];
+
+        for (int t=1; t<=MAX_INTERCEPT_ITERATIONS; t++) {
+            double x = robotX + stepX * t;
+            double y = robotY + stepY * t;
+
+            if (Math.hypot(x - origin.getX(), y - origin.getY()) <= bulletSpeed * t) {
+                linear = ArenaCalculations.angleFromOriginToLocation(origin.getX(), origin.getY(), x, y);
+                break;
+            }
+        }
+
+        return waves.add(origin.getX(), origin.getY(), fireTick, power, headOn, linear);
+    }
+
+    /**
+     * Removes waves that already passed the robot
+     * @param tick Current tick
+     * @param robot Robot location
+     */
+    public void expire(long tick, Location robot) {
+        waves.expire(tick, robot.getX(), robot.getY());
+    }
+
+    /**
+     * Checks if any wave reaches the robot within the prediction horizon, as farther waves leave time for normal movement
+     * @param tick Current tick
+     * @param robot Robot location
+     * @return True if robot should surf
+     */
+    public boolean hasThreats(long tick, Location robot) {
+        for (int w=0; w<waves.size(); w++) {
+            double distance = Math.hypot(robot.getX() - waves.getOriginX(w), robot.getY() - waves.getOriginY(w));
+            if (distance - waves.getRadius(w, tick) <= waves.getSpeed(w) * predictor.getHorizon()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Chooses the safest surf option for this tick
+     * @param frame NavigationFrame of current tick
+     * @param gps ArenaNavigation instance, to penalize leaving the zone
+     * @param dangerGrid DangerGrid instance, to penalize otherwise dangerous destinations
+     * @param maxVelocity Robot velocity limit
+     */
+    public void surf(NavigationFrame frame, ArenaNavigation gps, DangerGrid dangerGrid, double maxVelocity) {
+        double x = frame.getLocation().getX();
+        double y = frame.getLocation().getY();
+        long tick = frame.getTick();
+
+        // Orbit perpendicular to the most imminent wave
+        int imminent = 0;
+        double imminentTicks = Double.POSITIVE_INFINITY;
+        for (int w=0; w<waves.size(); w++) {
+            double ticks = (Math.hypot(x - waves.getOriginX(w), y - waves.getOriginY(w)) - waves.getRadius(w, tick)) / waves.getSpeed(w);
+            if (ticks < imminentTicks) {
+                imminentTicks = ticks;
+                imminent = w;
+            }
+        }
+
+        double perpendicular = (ArenaCalculations.angleFromOriginToLocation(waves.getOriginX(imminent), waves.getOriginY(imminent), x, y) + 90) % 360;
+        double orbitTurn = ArenaCalculations.shortestAngle(ArenaCalculations.angleDeltaRight(frame.getHeading(), perpendicular));
+        if (Math.abs(orbitTurn) > 90) {
+            orbitTurn -= Math.signum(orbitTurn) * 180;
+        }
+
+        // Forward, backwards, stop, and orbit both ways
+        optionTurn[0] = 0;         optionDistance[0] = SURF_DISTANCE;
+        optionTurn[1] = 0;         optionDistance[1] = -SURF_DISTANCE;
+        optionTurn[2] = 0;         optionDistance[2] = 0;
+        optionTurn[3] = orbitTurn; optionDistance[3] = SURF_DISTANCE;
+        optionTurn[4] = orbitTurn; optionDistance[4] = -SURF_DISTANCE;
+
+        double bestDanger = Double.POSITIVE_INFINITY;
+        for (int option=0; option<OPTIONS; option++) {
+            predictor.predict(x, y, frame.getHeading(), frame.getVelocity(), optionTurn[option], optionDistance[option], maxVelocity);
+            double danger = optionDanger(tick, gps, dangerGrid);
+
+            if (danger < bestDanger) {
+                bestDanger = danger;
+                bestOption = option;
+            }
+        }
+    }
+
+    private double optionDanger(long tick, ArenaNavigation gps, DangerGrid dangerGrid) {
+        int horizon = predictor.getHorizon();
+        double danger = 0;
+
+        for (int w=0; w<waves.size(); w++) {
+            double originX = waves.getOriginX(w);
+            double originY = waves.getOriginY(w);
+
+            // First predicted tick where the wave reaches the robot, or end of prediction
+            int step = horizon;
+            for (int i=1; i<=horizon; i++) {
+                if (Math.hypot(predictor.getX(i) - originX, predictor.getY(i) - originY) <= waves.getRadius(w, tick + i)) {
+                    step = i;
+                    break;
+                }
+            }
+
+            double distance = Math.max(Math.hypot(predictor.getX(step) - originX, predictor.getY(step) - originY), HALF_ROBOT_SIZE);
+            double angle = ArenaCalculations.angleFromOriginToLocation(originX, originY, predictor.getX(step), predictor.getY(step));
+            double width = Math.toDegrees(Math.atan(HALF_ROBOT_SIZE / distance));
+
+            double headOn = ArenaCalculations.shortestAngle(ArenaCalculations.angleDeltaRight(waves.getHeadOnAngle(w), angle)) / width;
+            double linear = ArenaCalculations.shortestAngle(ArenaCalculations.angleDeltaRight(waves.getLinearAngle(w), angle)) / width;
+
+            // Imminent and stronger waves weigh more
+            danger += (Math.exp(-headOn * headOn) + Math.exp(-linear * linear)) * waves.getPower(w) / step;
+        }
+
+        double finalX = predictor.getX(horizon);
+        double finalY = predictor.getY(horizon);
+        danger += GRID_DANGER_WEIGHT * dangerGrid.getDanger(finalX, finalY);
+
+        if (!gps.isInsideOfZone(finalX, finalY)) {
+            danger += OUT_OF_ZONE_DANGER;
+        }
+
+        return danger;
+    }
+
+    public double getSurfTurn() {
+        return optionTurn[bestOption];
+    }
+
+    public double getSurfDistance() {
+        return optionDistance[bestOption];
+    }
+}
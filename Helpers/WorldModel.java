@@ -0,0 +1,105 @@
+package sa_robocode.Helpers;
+
+import robocode.ScannedRobotEvent;
+import sa_robocode.Communication.ScanInfo;
+
+/**
+ * Tick aligned model of the other robots, for robots that only know about them from teammates' messages
+ * Every observation keeps the tick it was made on, and positions are extrapolated to the current tick,
+ * so information that arrives late is not mistaken for current. Lookups are O(1) and memory is bounded
+ */
+public class WorldModel {
+    private static final long MAX_EXTRAPOLATION_TICKS = 10;
+
+    private final KinematicsTable enemies;
+    private final KinematicsTable teammates;
+
+    /**
+     * Constructor
+     * @param enemyCapacity Maximum number of enemies tracked
+     * @param teammateCapacity Maximum number of teammates tracked
+     */
+    public WorldModel(int enemyCapacity, int teammateCapacity) {
+        this.enemies = new KinematicsTable(enemyCapacity);
+        this.teammates = new KinematicsTable(teammateCapacity);
+    }
+
+    /**
+     * Stores an enemy observation, with the velocity reported by the scan
+     * @param si Scan of the enemy
+     */
+    public void observeEnemy(ScanInfo si) {
+        ScannedRobotEvent sre = si.getScannedRobotEvent();
+        double headingRadians = Math.toRadians(sre.getHeading());
+
+        enemies.update(sre.getName(), si.getLocation().getX(), si.getLocation().getY(),
+                Math.sin(headingRadians) * sre.getVelocity(), Math.cos(headingRadians) * sre.getVelocity(), sre.getTime());
+    }
+
+    /**
+     * Stores a teammate observation, as extrapolated from its dead reckoning state
+     * @param name Teammate name
+     * @param location Teammate location
+     * @param velocity Teammate velocity vector
+     * @param tick Tick when teammate was on location
+     */
+    public void observeTeammate(String name, Location location, Vector velocity, long tick) {
+        teammates.update(name, location.getX(), location.getY(), velocity.getX(), velocity.getY(), tick);
+    }
+
+    public void removeEnemy(String name) {
+        enemies.remove(name);
+    }
+
+    public void removeTeammate(String name) {
+        teammates.remove(name);
+    }
+
+    public KinematicsTable getTeammates() {
+        return teammates;
+    }
+
+    /**
+     * Gets enemy location extrapolated to a given tick
+     * @param name Enemy name
+     * @param tick Current tick
+     * @return Extrapolated location, null if enemy is unknown
+     */
+    public Location getEnemyLocation(String name, long tick) {
+        return extrapolate(enemies, enemies.getSlot(name), tick);
+    }
+
+    /**
+     * Gets teammate location extrapolated to a given tick
+     * @param name Teammate name
+     * @param tick Current tick
+     * @return Extrapolated location, null if teammate is unknown
+     */
+    public Location getTeammateLocation(String name, long tick) {
+        return extrapolate(teammates, teammates.getSlot(name), tick);
+    }
+
+    private static Location extrapolate(KinematicsTable table, int slot, long tick) {
+        if (slot < 0) return null;
+
+        // Old velocities are not trusted for long
+        long limited = Math.min(tick, table.getTick(slot) + MAX_EXTRAPOLATION_TICKS);
+        return new Location(table.getX(slot, limited), table.getY(slot, limited));
+    }
+
+    /**
+     * Gets how many ticks old the last observation of a robot is
+     * @param name Robot name
+     * @param tick Current tick
+     * @return Observation age, Long.MAX_VALUE if robot is unknown
+     */
+    public long getStaleness(String name, long tick) {
+        int slot = enemies.getSlot(name);
+        if (slot >= 0) return tick - enemies.getTick(slot);
+
+        slot = teammates.getSlot(name);
+        if (slot >= 0) return tick - teammates.getTick(slot);
+
+        return Long.MAX_VALUE;
+    }
+}
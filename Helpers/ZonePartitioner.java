@@ -0,0 +1,80 @@
+package sa_robocode.Helpers;
+
+import java.util.*;
+
+/**
+ * Splits the arena in one rectangular zone per teammate, for any team size and arena shape
+ * Zones come from a k-d split: the larger side of each region is cut in proportion to the teammates on each half.
+ * Teammates are sorted by name, so every robot computes the same partition without communicating
+ */
+public class ZonePartitioner {
+    private final double arenaWidth;
+    private final double arenaHeight;
+    private final Map<String, double[]> zones = new HashMap<>();
+    private final List<String> members = new ArrayList<>();
+
+    /**
+     * Constructor
+     * @param arenaWidth Arena width
+     * @param arenaHeight Arena height
+     */
+    public ZonePartitioner(double arenaWidth, double arenaHeight) {
+        this.arenaWidth = arenaWidth;
+        this.arenaHeight = arenaHeight;
+    }
+
+    /**
+     * Recomputes zones if team members changed
+     * @param team Names of current team members
+     * @return True if zones were recomputed
+     */
+    public boolean partition(Collection<String> team) {
+        List<String> sorted = new ArrayList<>(team);
+        Collections.sort(sorted);
+
+        if (sorted.equals(members)) {
+            return false;
+        }
+
+        members.clear();
+        members.addAll(sorted);
+        zones.clear();
+        split(0, members.size(), 0, 0, arenaWidth, arenaHeight);
+
+        return true;
+    }
+
+    private void split(int from, int to, double minX, double minY, double maxX, double maxY) {
+        int count = to - from;
+        if (count == 0) return;
+
+        if (count == 1) {
+            zones.put(members.get(from), new double[] {minX, minY, maxX, maxY});
+            return;
+        }
+
+        int half = count / 2;
+        double fraction = (double) half / count;
+
+        if (maxX - minX >= maxY - minY) {
+            double cut = minX + (maxX - minX) * fraction;
+            split(from, from + half, minX, minY, cut, maxY);
+            split(from + half, to, cut, minY, maxX, maxY);
+        }
+
+        else {
+            double cut = minY + (maxY - minY) * fraction;
+            split(from, from + half, minX, minY, maxX, cut);
+            split(from + half, to, minX, cut, maxX, maxY);
+        }
+    }
+
+    /**
+     * Gets zone limits of a team member
+     * @param name Team member name
+     * @return Array with minimum X, minimum Y, maximum X and maximum Y, null if not a member
+     */
+    public double[] getZone(String name) {
+        return zones.get(name);
+    }
+}
@@ -20,7 +20,7 @@ public class Captain extends TeamRobot {
 	 * Robot defining static attributes
 	 */
 	private static final RobotType robotType = RobotType.CAPTAIN;
-	private static final List<MotionType> PRIORITY_MOTIONS = Arrays.asList(MotionType.AVOIDING_BULLET, MotionType.HIT_WALL, MotionType.AVOIDING_TEAMMATE);
+	private static final List<MotionType> PRIORITY_MOTIONS = Arrays.asList(MotionType.AVOIDING_BULLET, MotionType.HIT_WALL);
 
 	/**
 	 * Definition of colors to paint robots
@@ -34,24 +34,47 @@ public class Captain extends TeamRobot {
 	/**
 	 * Definition of data structures to aid determination of robot behavior
 	 */
-	private final Map<String, Tracker> enemiesTracking = new HashMap<>();
-	private final Map<String, Boolean> enemyDroids = new HashMap<>();
+	private final Roster roster = new Roster();
+	private Tracker[] enemiesTracking = new Tracker[Roster.INITIAL_CAPACITY];
+	private final BitSet enemyDroids = new BitSet();
 	private final Map<String, Location> teammatesTracking = new HashMap<>();
+	private final Map<String, DeadReckoning> teammateReckoning = new HashMap<>();
+	private final DeadReckoning selfReckoning = new DeadReckoning();
 	private final Map<String, TeammateInfo> teamStatus = new HashMap<>();
-	private final List<BulletInfo> teamBullets = new ArrayList<>();
-	private final List<BulletInfo> avoidedBullets = new ArrayList<>();
+	private final BulletRegistry teamBullets = new BulletRegistry();
+	private final Outbox outbox = new Outbox(roster);
+	private final KinematicsTable teammateKinematics = new KinematicsTable(MAX_TEAMMATES);
+	private final TrackerLifecycle trackerLifecycle = new TrackerLifecycle();
+	private final VelocityObstacles teammateAvoider = new VelocityObstacles(VELOCITY_OBSTACLE_HORIZON);
+	private final RadarScheduler radar = new RadarScheduler();
+	private final ScanOwnership ownership = new ScanOwnership(roster);
+	private WallSmoothing wallSmoothing = null;
 	private final Set<Tracker> mostWanted = new LinkedHashSet<>();
 	private ArenaNavigation gps = null;
+	private NavigationFrame frame = null;
+	private MovementPredictor predictor = null;
+	private DangerGrid dangerGrid = null;
+	private WaveSurfer surfer = null;
 	private MotionType motion = MotionType.READY_TO_MOVE;
 	private String currentLeader = null;
-	private boolean outOfDateBounties = true;
+	private long duplicateScans = 0;
 	private Tracker bounty = null;
+	private final BountyBoard bountyBoard = new BountyBoard();
+	private long gunIdleTicks = 0;
+	private long rankingTick = -1;
+	private int rankingDigest = 0;
+	private String rankingSource = null;
+	private final List<Tracker> agreedRanking = new ArrayList<>();
+	private int rankingVersion = 0;
+	private boolean rankingDisagreement = false;
+	private long rankingMismatches = 0;
 	private Location target = null;
 	private boolean readyToFire = false;
 	private double lastHeading = 0;
-	private double lastVelocity = 0;
 	private double targetHeading = 0;
+	private double velocityLimit = 0;
 	private long ticksInStraightLine = 0;
+	private long nextRadarAssignment = 0;
 
 	/**
 	 * Definition of useful static values to access in methods
@@ -66,22 +89,53 @@ public class Captain extends TeamRobot {
 	private static final int MAX_SIMULATION_ITERATIONS_ENEMY = 100;
 	private static final double ROBOT_EDGES_DISTANCE_TOLERANCE = 6.0;
 	private static final double CRITICAL_ENERGY_LEVEL = 50.0;
+	private static final long RANKING_PERIOD = 4;
+	// Reports are never held back by the outbox, so they arrive on the tick after the scan
+	private static final long RANKING_INPUT_DELAY = 2;
+	private static final double ENERGY_PRECISION = 10;
 	private static final double MAX_ALLOWED_VELOCITY = 7.0;
 	private static final double TURN_ALLOWED_VELOCITY = 5.0;
 	private static final long MAX_TICKS_IN_STRAIGHT_LINE = 10;
+	private static final int PREDICTION_HORIZON = 20;
+	private static final double ENEMY_DANGER = 1.0;
+	private static final double TEAMMATE_DANGER = 0.3;
+	private static final double HIT_DANGER = 1.0;
+	private static final int ENEMY_PROJECTION_STEPS = 3;
+	private static final double ENEMY_PROJECTION_TICKS = 8.0;
+	private static final int MAX_ENEMY_WAVES = 32;
+	private static final int MAX_TEAMMATES = 16;
+	private static final int VELOCITY_OBSTACLE_HORIZON = 15;
+	private static final long RADAR_ASSIGNMENT_PERIOD = 30;
+	private static final boolean DEBUG_STATS = false;
 
 
 	/**
 	 * Main method with robot behavior.
 	 */
 	public void run() {
-		setMaxVelocity(MAX_ALLOWED_VELOCITY);
-		gps = new ArenaNavigation(teammatesTracking, teamStatus, getBattleFieldWidth(), getBattleFieldHeight(), getName());
+		limitVelocity(MAX_ALLOWED_VELOCITY);
+		predictor = new MovementPredictor(getBattleFieldWidth(), getBattleFieldHeight(), PREDICTION_HORIZON);
+		dangerGrid = new DangerGrid(getBattleFieldWidth(), getBattleFieldHeight());
+		surfer = new WaveSurfer(getBattleFieldWidth(), getBattleFieldHeight(), PREDICTION_HORIZON, MAX_ENEMY_WAVES);
+		wallSmoothing = new WallSmoothing(getBattleFieldWidth(), getBattleFieldHeight());
 		setColors(WHITE, YOLK_YELLOW, RADAR_ORANGE, COPPER_BULLET, BEAM_BLUE); // Set tank colors
+		setAdjustRadarForGunTurn(true); // Radar is scheduled on its own
 		updateRobotStatus(new TeammateInfo(getName(), robotType, getEnergy()), MessageType.TEAMMATE_REGISTER); // Register in team
+		gps = new ArenaNavigation(teamStatus, getBattleFieldWidth(), getBattleFieldHeight(), getName()); // Zones need this robot registered first
 		lastHeading = getHeading();
-		lastVelocity = getVelocity();
 		currentLeader = getName();
+
+		// Messages queued while handling events are sent once per tick
+		while (true) {
+			outbox.flush(this);
+
+			// Own model only follows the updates teammates actually get, so deferred or dropped ones are sent again
+			Message sentLocation = outbox.getSentLocation();
+			if (sentLocation != null) {
+				selfReckoning.observe(sentLocation.getLocation(), sentLocation.getHeading(), sentLocation.getVelocity(), sentLocation.getTurnRate(), sentLocation.getTick());
+			}
+			execute();
+		}
 	}
 
 	/**
@@ -91,29 +145,50 @@ public class Captain extends TeamRobot {
 	public void onPaint(Graphics2D g2d) {
 		System.out.println(motion);
 
-		if (gps != null) {
-			Painter.drawLocation(g2d, Color.green, gps.adjustLocToZone(getCurrentLocation()));
+		if (frame != null) {
+			Painter.drawLocation(g2d, Color.green, frame.getZoneAdjustedLocation());
 
-			for (Location loc : gps.getWallsOrderedByDistance(getCurrentLocation(), true)) {
+			for (Location loc : frame.getZoneWalls()) {
 				Painter.drawLocation(g2d, Color.ORANGE, loc);
 
-				Vector danger = new Vector(loc, gps.adjustLocToZone(getCurrentLocation())).setLength(95.0);
+				Vector danger = new Vector(loc, frame.getZoneAdjustedLocation()).setLength(95.0);
 				Painter.drawLocation(g2d, Color.red, danger.apply(loc));
 			}
 		}
 	}
 
 	public boolean hasEnemyRadar(String name) {
-		return enemyDroids.containsKey(name) && !enemyDroids.get(name);
+		int id = roster.getId(name);
+		return getTracker(id) != null && !enemyDroids.get(id);
 	}
 
-	public boolean hasCriticalEnergyLevel(Tracker t) {
-		return  t.getLastKnownEnergy() <= CRITICAL_ENERGY_LEVEL;
+	/**
+	 * Gets tracker of an enemy
+	 * @param id Enemy roster id
+	 * @return Tracker, null if enemy is not tracked
+	 */
+	public Tracker getTracker(int id) {
+		return id < enemiesTracking.length ? enemiesTracking[id] : null;
+	}
+
+	public Tracker getTracker(String name) {
+		return getTracker(roster.getId(name));
 	}
 
-	public void prepareToMostWanted(List<Tracker> list) {
+	public void removeTracker(String name) {
+		int id = roster.getId(name);
+		if (id < enemiesTracking.length) {
+			enemiesTracking[id] = null;
+		}
+	}
+
+	public boolean hasCriticalEnergyLevel(Tracker t, long cutoff) {
+		return  t.getLastKnownEnergy(cutoff) <= CRITICAL_ENERGY_LEVEL;
+	}
+
+	public void prepareToMostWanted(List<Tracker> list, long cutoff) {
 		List<Tracker> hasRadar = list.stream().filter(tracker -> hasEnemyRadar(tracker.getName())).collect(Collectors.toList());
-		List<Tracker> criticalDamaged = list.stream().filter(this::hasCriticalEnergyLevel).collect(Collectors.toList());
+		List<Tracker> criticalDamaged = list.stream().filter(tracker -> hasCriticalEnergyLevel(tracker, cutoff)).collect(Collectors.toList());
 
 		// First add critical damaged opponents
 		mostWanted.addAll(criticalDamaged);
@@ -123,57 +198,91 @@ public class Captain extends TeamRobot {
 		mostWanted.addAll(list);
 	}
 
-	public void orderBounties() {
+	/**
+	 * Ranks bounties only from shared pings up to a cutoff tick, starting from enemies sorted by name and breaking every tie by name,
+	 * so teammates that received the same reports get the same ranking
+	 * @param cutoff Newest tick to consider
+	 */
+	public void orderBounties(long cutoff) {
 		// Clear previous most wanted
 		mostWanted.clear();
 
-		// Try to find patterns for each enemy
-		enemiesTracking.values().forEach(Tracker::findPatterns);
+		// Dormant enemies are left out, and only active ones have recent enough information to find patterns
+		List<Tracker> tracked = Arrays.stream(enemiesTracking)
+				.filter(tracker -> tracker != null && tracker.getLastSeenTick(cutoff) >= 0 && getTierAt(tracker, cutoff) != TrackerTier.DORMANT)
+				.sorted(Comparator.comparing(Tracker::getName))
+				.collect(Collectors.toList());
+		for (Tracker tracker : tracked) {
+			if (getTierAt(tracker, cutoff) == TrackerTier.ACTIVE) {
+				tracker.findPatterns(cutoff);
+			}
+
+			else {
+				tracker.resetPatterns();
+			}
+		}
+
+		// Energy is compared with fixed precision, divided by confidence so enemies seen long ago rank after equally weak ones seen recently
+		Comparator<Tracker> byEnergy = Comparator.comparingLong((Tracker tracker) -> Math.round(tracker.getLastKnownEnergy(cutoff) * ENERGY_PRECISION / tracker.getConfidence(cutoff)))
+				.thenComparing(Tracker::getName);
 
 		// First priority, stopped robots
-		List<Tracker> ducks = enemiesTracking.values().stream().filter(tracker -> tracker.getTrackerType() == TrackerType.DUCK)
-				.sorted(Comparator.comparingDouble(Tracker::getLastKnownEnergy)).collect(Collectors.toList());
-		prepareToMostWanted(ducks);
+		List<Tracker> ducks = tracked.stream().filter(tracker -> tracker.getTrackerType() == TrackerType.DUCK)
+				.sorted(byEnergy).collect(Collectors.toList());
+		prepareToMostWanted(ducks, cutoff);
 
 		// Second priority, robots moving in circles
-		List<Tracker> sharks = enemiesTracking.values().stream().filter(tracker -> tracker.getTrackerType() == TrackerType.SHARK)
-				.sorted(Comparator.comparingDouble(Tracker::getLastKnownEnergy)).collect(Collectors.toList());
-		prepareToMostWanted(sharks);
+		List<Tracker> sharks = tracked.stream().filter(tracker -> tracker.getTrackerType() == TrackerType.SHARK)
+				.sorted(byEnergy).collect(Collectors.toList());
+		prepareToMostWanted(sharks, cutoff);
 
 		// Third priority, robots moving in a straight line
-		List<Tracker> crabs = enemiesTracking.values().stream().filter(tracker -> tracker.getTrackerType() == TrackerType.CRAB)
-				.sorted(Comparator.comparingDouble(Tracker::getLastKnownEnergy)).collect(Collectors.toList());
-		prepareToMostWanted(crabs);
+		List<Tracker> crabs = tracked.stream().filter(tracker -> tracker.getTrackerType() == TrackerType.CRAB)
+				.sorted(byEnergy).collect(Collectors.toList());
+		prepareToMostWanted(crabs, cutoff);
 
 		// Fourth priority, robots with consecutive data points (data without much information gaps)
-		List<Tracker> projections = enemiesTracking.values().stream().filter(tracker -> tracker.getTrackerType() == TrackerType.PROJECTION)
-				.sorted(Comparator.comparingDouble(Tracker::getLastKnownEnergy)).collect(Collectors.toList());
-		prepareToMostWanted(projections);
+		List<Tracker> projections = tracked.stream().filter(tracker -> tracker.getTrackerType() == TrackerType.PROJECTION)
+				.sorted(byEnergy).collect(Collectors.toList());
+		prepareToMostWanted(projections, cutoff);
 
 		// Fifth priority, robot energy left
-		List<Tracker> weaker = enemiesTracking.values().stream().filter(tracker -> !mostWanted.contains(tracker))
-				.sorted(Comparator.comparingDouble(Tracker::getLastKnownEnergy)).collect(Collectors.toList());
-		prepareToMostWanted(weaker);
+		List<Tracker> weaker = tracked.stream().filter(tracker -> !mostWanted.contains(tracker))
+				.sorted(byEnergy).collect(Collectors.toList());
+		prepareToMostWanted(weaker, cutoff);
+	}
 
-		// Bounties are now updated
-		outOfDateBounties = false;
+	/**
+	 * Gets tier a tracker had at a cutoff tick, from its shared pings up to it
+	 * @param tracker Enemy tracker
+	 * @param cutoff Tick to evaluate
+	 * @return Tracker tier
+	 */
+	public TrackerTier getTierAt(Tracker tracker, long cutoff) {
+		return TrackerLifecycle.tierOf(cutoff - tracker.getLastSeenTick(cutoff));
 	}
 
 	/**
-	 * Creates new Location instance with current robot location
-	 * @return Current robot coordinates wrapped in Location
+	 * Sets robot max velocity, keeping track of it for movement predictions
+	 * @param velocity Velocity limit
 	 */
-	public Location getCurrentLocation() {
-		return new Location(getX(), getY());
+	public void limitVelocity(double velocity) {
+		velocityLimit = velocity;
+		setMaxVelocity(velocity);
 	}
 
 	public void updateRobotStatus(TeammateInfo ti, MessageType messageType) {
 		sendMessageToTeam(new Message(ti, messageType));
-		teamStatus.put(getName(), ti);
+		registerTeammate(ti);
+	}
+
+	public void registerTeammate(TeammateInfo ti) {
+		teamStatus.put(ti.getName(), ti);
+		roster.setTeammate(roster.getId(ti.getName()), true);
 	}
 
 	public boolean isRegisteredTeammate(String name) {
-		return teamStatus.values().stream().map(TeammateInfo::getName).anyMatch(teammate -> teammate.equals(name));
+		return roster.isTeammate(roster.getId(name));
 	}
 
 	/**
@@ -183,31 +292,84 @@ public class Captain extends TeamRobot {
 	public void fireAndBroadcast(double power) {
 		if (getGunHeat() == 0.0) {
 			Long fireTick = getTime();
-			BulletInfo bulletInfo = new BulletInfo(fireBullet(power), fireTick, new Location(getX(), getY()), getBattleFieldWidth(), getBattleFieldHeight());
+			BulletInfo bulletInfo = new BulletInfo(fireBullet(power), getName(), fireTick, frame.getLocation(), getBattleFieldWidth(), getBattleFieldHeight());
 			sendMessageToTeam(new Message(bulletInfo));
 		}
 	}
 
+	/**
+	 * Gets distance from a location to the closest teammate, from their dead reckoning
+	 * @param location Location to measure from
+	 * @param tick Tick to extrapolate teammates to
+	 * @return Distance to the closest teammate, infinite if none is known
+	 */
+	public double getNearestTeammateDistance(Location location, long tick) {
+		double nearest = Double.POSITIVE_INFINITY;
+
+		for (DeadReckoning teammate : teammateReckoning.values()) {
+			if (teammate.isKnown()) {
+				nearest = Math.min(nearest, teammate.extrapolate(tick).distanceTo(location));
+			}
+		}
+
+		return nearest;
+	}
+
 	/**
 	 * Processes the scanned robot information, depending if is teammate or not
 	 * @param si ScanInfo regarding the scanned robot
+	 * @param shared True if scan was reported to teammates or received from one
 	 */
-	public void processScanInfo(ScanInfo si) {
-		// Most wanted needs to be recalculated
-		outOfDateBounties = true;
-
+	public void processScanInfo(ScanInfo si, boolean shared) {
 		String name = si.getScannedRobotEvent().getName();
+		int id = roster.getId(name);
+
+		// Scans not newer than the last ping were already processed, from another radar or this one
+		if (getTracker(id) != null && getTracker(id).getLastSeenTick() >= si.getScannedRobotEvent().getTime()) {
+			// Late reports still go to the shared pings, which may not have them yet
+			if (shared) {
+				getTracker(id).addSharedPing(si);
+			}
+
+			duplicateScans++;
+			return;
+		}
 
 		// Check if enemy was already detected before
-		if (!enemiesTracking.containsKey(name)) {
-			enemiesTracking.put(name, new Tracker(name));
+		if (getTracker(id) == null) {
+			if (id >= enemiesTracking.length) {
+				enemiesTracking = Arrays.copyOf(enemiesTracking, roster.getCapacity());
+			}
+			enemiesTracking[id] = new Tracker(name);
 
 			// Check if first scan of enemy has over 100 energy points, because droids have 120
-			enemyDroids.put(name, si.getScannedRobotEvent().getEnergy() > 100);
+			enemyDroids.set(id, si.getScannedRobotEvent().getEnergy() > 100);
 		}
 
 		// Add last tracked location to head of list
-		enemiesTracking.get(name).addPing(si);
+		Tracker tracker = enemiesTracking[id];
+		tracker.addPing(si);
+		if (shared) {
+			tracker.addSharedPing(si);
+		}
+		trackerLifecycle.onPing(tracker);
+		radar.update(name, si.getScannedRobotEvent().getTime());
+
+		// Energy drop means enemy fired, so its bullet wave needs to be surfed if it may have aimed at this robot
+		if (tracker.getLastShotPower() > 0) {
+			Location origin = tracker.getLastShotOrigin();
+			surfer.addWave(origin, tracker.getLastShotTick(), tracker.getLastShotPower(), getNearestTeammateDistance(origin, tracker.getLastShotTick() - 1));
+		}
+
+		// Enemy danger on scanned location and along its projected path, stronger for healthier enemies
+		ScannedRobotEvent sre = si.getScannedRobotEvent();
+		double headingRadians = Math.toRadians(sre.getHeading());
+		double weight = ENEMY_DANGER + sre.getEnergy() / 100;
+
+		for (int i=0; i<=ENEMY_PROJECTION_STEPS; i++) {
+			double traveled = sre.getVelocity() * ENEMY_PROJECTION_TICKS * i;
+			dangerGrid.addEnemy(si.getLocation().getX() + Math.sin(headingRadians) * traveled, si.getLocation().getY() + Math.cos(headingRadians) * traveled, weight / (i + 1));
+		}
 	}
 
 	public void checkHierarchy() {
@@ -243,23 +405,56 @@ public class Captain extends TeamRobot {
 		return getName().equals(currentLeader);
 	}
 
+	/**
+	 * Splits enemies among radar equipped teammates and broadcasts the assignment, only done by the leader
+	 */
+	public void assignRadars() {
+		Map<String, Location> enemies = new HashMap<>();
+		for (Tracker tracker : enemiesTracking) {
+			if (tracker != null && !tracker.noPings() && tracker.getTier() != TrackerTier.DORMANT) {
+				enemies.put(tracker.getName(), tracker.getLastKnownLocation());
+			}
+		}
+
+		Map<String, Location> radars = new HashMap<>();
+		for (TeammateInfo ti : teamStatus.values()) {
+			Location location = ti.getName().equals(getName()) ? frame.getLocation() : teammatesTracking.get(ti.getName());
+			if (ti.getRobotType() == RobotType.CAPTAIN && location != null) {
+				radars.put(ti.getName(), location);
+			}
+		}
+
+		Location center = new Location(getBattleFieldWidth()/2, getBattleFieldHeight()/2);
+		Map<String, String> assignment = RadarAssignment.assign(enemies, radars, center);
+		sendMessageToTeam(new Message(assignment));
+		radar.setAssignment(assignment, getName());
+	}
+
 	public boolean teammatesBetweenLocation(Location location) {
-		for(Location teammate: teammatesTracking.values()) {
-			Location currentLocation = getCurrentLocation();
-			Location bullet = getCurrentLocation();
-			Vector bulletVector = new Vector(getCurrentLocation(), location).setLength(Rules.getBulletSpeed(0.1));
+		Location currentLocation = frame.getLocation();
+		double bulletSpeed = Rules.getBulletSpeed(MIN_BULLET_POWER);
+		double distance = currentLocation.distanceTo(location);
+
+		// Target on the robot itself has no direction to shoot along
+		if (distance == 0) {
+			return false;
+		}
 
+		// Bullet steps until it passes target location
+		int steps = (int) Math.floor(distance / bulletSpeed) + 1;
+		double stepX = (location.getX() - currentLocation.getX()) * bulletSpeed / distance;
+		double stepY = (location.getY() - currentLocation.getY()) * bulletSpeed / distance;
+
+		for(Location teammate: teammatesTracking.values()) {
 			// Check if teammate is closer than allowed to shoot
 			if (currentLocation.distanceTo(teammate) >= TEAMMATE_MIN_DISTANCE_TO_FIRE) {
 				continue;
 			}
 
-			// Check if bullet collided with teammate until bullet passes target location
-			while(new Vector(bullet, location).angleWithVector(bulletVector) != 180) {
-				bullet = bulletVector.apply(bullet);
-				if (ArenaCalculations.isLocationInsideRobot(teammate, 0, bullet, ROBOT_EDGES_DISTANCE_TOLERANCE)) {
-					return true;
-				}
+			// Check if bullet collides with teammate in any step
+			if (CollisionKernels.firstSweepStepInsideRobot(teammate.getX(), teammate.getY(), 0, ROBOT_EDGES_DISTANCE_TOLERANCE,
+					currentLocation.getX(), currentLocation.getY(), stepX, stepY, steps) > 0) {
+				return true;
 			}
 		}
 
@@ -273,7 +468,27 @@ public class Captain extends TeamRobot {
 				Math.max(Rules.MAX_BULLET_POWER - (((distance - MAX_POWER_RADIUS) / BULLET_RANGE_DROPOFF) * BULLET_POWER_DROPOFF), MIN_BULLET_POWER);
 	}
 
-	public void setBounty(Set<Tracker> mostWanted) {
+	/**
+	 * Matches bounty ranking received from the leader with local trackers, applying the patterns fitted by the leader
+	 * Enemies without a local tracker are left out
+	 * @param bounties Bounty ranking from the leader
+	 * @return Local trackers in ranking order
+	 */
+	public List<Tracker> matchBounties(List<BountyInfo> bounties) {
+		List<Tracker> ranking = new ArrayList<>();
+
+		for (BountyInfo bi : bounties) {
+			Tracker tracker = getTracker(bi.getName());
+			if (tracker == null) continue;
+
+			bi.applyTo(tracker);
+			ranking.add(tracker);
+		}
+
+		return ranking;
+	}
+
+	public void setBounty(Collection<Tracker> mostWanted) {
 		for (Tracker tracker: mostWanted) {
 			if (tracker.noPings() || teammatesBetweenLocation(tracker.getLocationByTick(getTime()))) {
 				continue;
@@ -285,26 +500,31 @@ public class Captain extends TeamRobot {
 	}
 
 	/**
-	 * Broadcasts message to entire team
+	 * Queues message to entire team, sent at the end of the tick
 	 * @param msg Instance of Message to send to all teammates
 	 */
 	public void sendMessageToTeam(Message msg) {
-		try {
-			broadcastMessage(msg);
-		}
-		catch (IOException e) {
-			System.out.println(e.getMessage());
-		}
+		outbox.broadcast(msg);
 	}
 
 	/**
-	 * Sends message to specific teammate
+	 * Queues message to specific teammate, sent at the end of the tick
 	 * @param teammate Teammate name
 	 * @param msg Instance of Message to send
 	 */
 	public void sendMessageToTeammate(String teammate, Message msg) {
+		outbox.send(teammate, msg);
+	}
+
+	/**
+	 * Override onMessageReceived to unpack envelopes sent by teammates
+	 * @param me MessageEvent instance
+	 */
+	public void onMessageReceived(MessageEvent me) {
 		try {
-			sendMessage(teammate, msg);
+			for (Message message : outbox.unpack((byte[]) me.getMessage(), me.getSender())) {
+				processMessage(message, me.getSender());
+			}
 		}
 		catch (IOException e) {
 			System.out.println(e.getMessage());
@@ -312,65 +532,88 @@ public class Captain extends TeamRobot {
 	}
 
 	/**
-	 * Override onMessageReceived to handle received messages
-	 * @param me MessageEvent instance
+	 * Handles a message received from a teammate
+	 * @param message Message instance
+	 * @param sender Name of the teammate that sent the message
 	 */
-	public void onMessageReceived(MessageEvent me) {
-		Message message = (Message) me.getMessage();
+	public void processMessage(Message message, String sender) {
 
 		switch (message.getMessageType()) {
 			case STATUS_INFO -> {
 				TeammateInfo ti = message.getTeammateInfo();
-				teamStatus.put(ti.getName(), ti);
+				registerTeammate(ti);
 				checkHierarchy();
+				gps.updateZones();
 			}
 
 			case SCAN_INFO -> {
 				ScanInfo si = message.getScanInfo();
-				processScanInfo(si);
+				ownership.onReport(si.getScannedRobotEvent().getName(), sender, si.getScannedRobotEvent().getDistance(), si.getScannedRobotEvent().getTime());
+				processScanInfo(si, true);
 			}
 
 			case BULLET_INFO -> {
 				BulletInfo bi = message.getBulletInfo();
-				teamBullets.add(bi);
+				teamBullets.register(bi);
 			}
 
-			// Only leader receives these messages
-			case GUN_READY_INFO -> {
+			case RADAR_ASSIGNMENT -> radar.setAssignment(message.getRadarAssignment(), getName());
 
-				if (amCurrentLeader()) {
-					// Check if kill order needs to be recalculated
-					if (outOfDateBounties) {
-						orderBounties();
+			case BOUNTIES_INFO -> bountyBoard.apply(message.getBounties(), sender);
+
+			case RANKING_DIGEST -> {
+				// Digests can only be compared when made on the same tick
+				if (message.getTick() == rankingTick) {
+					boolean agrees = message.getDigest() == rankingDigest;
+					if (!agrees) {
+						rankingMismatches++;
 					}
 
-					sendMessageToTeammate(me.getSender(), new Message(mostWanted));
-				}
-			}
+					// Leader corrects teammates that disagree with it, and they use its ranking until they agree again
+					if (amCurrentLeader() && !agrees) {
+						rankingDisagreement = true;
+					}
 
-			case BOUNTIES_INFO -> {
-				Set<Tracker> mostWanted = message.getBounties();
-				setBounty(mostWanted);
+					if (sender.equals(currentLeader)) {
+						if (agrees) {
+							agreedRanking.clear();
+							agreedRanking.addAll(mostWanted);
+						}
+
+						// Leader ranking is only known once a version newer than the one held at the disagreement arrives
+						else if (rankingSource == null) {
+							rankingVersion = bountyBoard.getVersion();
+						}
+
+						rankingSource = agrees ? null : sender;
+					}
+				}
 			}
 
 			case LOCATION_UPDATE -> {
 				Location teammate = message.getLocation();
-				teammatesTracking.put(me.getSender(), teammate);
+				teammatesTracking.put(sender, teammate);
+				teammateReckoning.computeIfAbsent(sender, name -> new DeadReckoning())
+						.observe(teammate, message.getHeading(), message.getVelocity(), message.getTurnRate(), message.getTick());
 			}
 
 			case TEAMMATE_REGISTER -> {
 				TeammateInfo ti = message.getTeammateInfo();
-				teamStatus.put(ti.getName(), ti);
+				registerTeammate(ti);
 				checkHierarchy();
+				gps.updateZones();
+				nextRadarAssignment = 0;
 
 				// In case teammate was scanned before registration
-				enemiesTracking.remove(ti.getName());
+				removeTracker(ti.getName());
+				trackerLifecycle.remove(ti.getName());
+				radar.remove(ti.getName());
 			}
 		}
 	}
 
 	public Location getRobotLocationFromScanEvent(ScannedRobotEvent sre) {
-		return ArenaCalculations.polarInfoToLocation(getCurrentLocation(), ArenaCalculations.convertAngleToPolarOrArena(getHeading() + sre.getBearing()), sre.getDistance());
+		return ArenaCalculations.polarInfoToLocation(frame.getLocation(), ArenaCalculations.convertAngleToPolarOrArena(frame.getHeading() + sre.getBearing()), sre.getDistance());
 	}
 
 	/**
@@ -379,14 +622,43 @@ public class Captain extends TeamRobot {
 	 */
 	public void onScannedRobot(ScannedRobotEvent sre) {
 		if (!isRegisteredTeammate(sre.getName())) {
-			Location detectedRobotLocation = getRobotLocationFromScanEvent(sre);
+			// Rounded as teammates decode it, so the ping is the same on every robot
+			Location detectedRobotLocation = PositionStream.round(getRobotLocationFromScanEvent(sre));
 			ScanInfo si = new ScanInfo(detectedRobotLocation, sre);
 
-			sendMessageToTeam(new Message(si));
-			processScanInfo(si);
+			// Enemies are only shared by the teammate closest to them, others take over when it stops reporting
+			// Ranking only uses reported scans, as teammates never see the rest
+			boolean reported = ownership.shouldReport(sre.getName(), getName(), sre.getDistance(), sre.getTime());
+			if (reported) {
+				sendMessageToTeam(new Message(si));
+			}
+			processScanInfo(si, reported);
 		}
 	}
 
+	/**
+	 * Gets direction the robot is travelling to, which is opposite to heading when moving backwards
+	 * @return Direction of travel, arena angle
+	 */
+	public double getTravelHeading() {
+		return (frame.getHeading() + (getDistanceRemaining() < 0 ? 180 : 0)) % 360;
+	}
+
+	/**
+	 * Steers direction of travel for this tick, reversing instead of turning around
+	 * @param newHeading New direction of travel, arena angle
+	 */
+	public void steerTravel(double newHeading) {
+		double turn = ArenaCalculations.shortestAngle(ArenaCalculations.angleDeltaRight(getTravelHeading(), newHeading));
+
+		if (Math.abs(turn) > 90) {
+			turn -= Math.signum(turn) * 180;
+			setAhead(-getDistanceRemaining());
+		}
+
+		setTurnRight(turn);
+	}
+
 	public void goPerpendicularToVectorDirection(Vector target, double heading, Vector preferredDirection) {
 		Vector robotVector = ArenaCalculations.angleToUnitVector(heading);
 		Vector robotBackVector = robotVector.negative();
@@ -419,29 +691,61 @@ public class Captain extends TeamRobot {
 	 */
 	public void onHitWall(HitWallEvent e) {
 		motion = MotionType.HIT_WALL;
-		List<Location> walls = gps.getWallsOrderedByDistance(getCurrentLocation(), false);
-		goPerpendicularToVectorDirection(new Vector(walls.get(0), getCurrentLocation()), getHeading(), new Vector(walls.get(1), getCurrentLocation()));
+		List<Location> walls = frame.getWalls();
+		goPerpendicularToVectorDirection(new Vector(walls.get(0), frame.getLocation()), frame.getHeading(), new Vector(walls.get(1), frame.getLocation()));
 	}
 
 	public void onHitRobot(HitRobotEvent e) {
 		if (!isRegisteredTeammate(e.getName())) {
 			motion = MotionType.ENEMY_COLLISION;
 
-			double enemyAngle = (getHeading() + e.getBearing() + 360) % 360;
-			double shootingAngle = ArenaCalculations.shortestAngle(ArenaCalculations.angleDeltaRight(getGunHeading(), enemyAngle));
+			double enemyAngle = (frame.getHeading() + e.getBearing() + 360) % 360;
+			double shootingAngle = ArenaCalculations.shortestAngle(ArenaCalculations.angleDeltaRight(frame.getGunHeading(), enemyAngle));
 			setTurnGunRight(ArenaCalculations.shortestAngle(shootingAngle));
 		}
 	}
 
+	/**
+	 * Override onHitByBullet to remember dangerous locations
+	 * @param e Resulting HitByBulletEvent instance
+	 */
+	public void onHitByBullet(HitByBulletEvent e) {
+		dangerGrid.addHit(frame.getLocation().getX(), frame.getLocation().getY(), HIT_DANGER * e.getPower());
+	}
+
+	/**
+	 * Override onRoundEnded to report team communication load, only when debugging
+	 * @param e Resulting RoundEndedEvent instance
+	 */
+	public void onRoundEnded(RoundEndedEvent e) {
+		if (!DEBUG_STATS) return;
+
+		System.out.printf("Messages per tick: %.2f, envelopes per tick: %.2f, bytes per tick: %.1f%n",
+				outbox.getMessagesPerTick(), outbox.getEnvelopesPerTick(), outbox.getBytesPerTick());
+		System.out.printf("Messages deferred: %d, dropped: %d, merged: %d%n", outbox.getDeferred(), outbox.getDropped(), outbox.getMerged());
+		System.out.printf("Location updates sent: %.0f%% of ticks, max dead reckoning error: %.2f%n",
+				selfReckoning.getUpdateRatio() * 100, selfReckoning.getMaxError());
+		System.out.printf("Gun idle ticks: %d, ranking mismatches: %d, bounty versions published: %d (%d diffs), diffs rejected: %d%n",
+				gunIdleTicks, rankingMismatches, bountyBoard.getPublished(), bountyBoard.getDiffs(), bountyBoard.getRejected());
+		System.out.printf("Scans reported: %.0f%%, duplicate scans dropped: %d%n", ownership.getReportRatio() * 100, duplicateScans);
+	}
+
 	public void onRobotDeath(RobotDeathEvent e) {
 		String name = e.getName();
 
 		// Check if dead robot is teammate
 		if(isRegisteredTeammate(name)) {
 			teamStatus.remove(name);
+			roster.setTeammate(roster.getId(name), false);
 			teammatesTracking.remove(name);
+			teammateReckoning.remove(name);
+			ownership.release(name);
+			teammateKinematics.remove(name);
+
+			gps.updateZones();
 
-			gps.updateZone(name);
+			// Radars need to be rebalanced
+			nextRadarAssignment = 0;
 
 			// Might be necessary a new leader election
 			if (name.equals(currentLeader)) {
@@ -458,48 +762,38 @@ public class Captain extends TeamRobot {
 
 		// If is enemy, remove from enemy tracking
 		else {
-			enemiesTracking.remove(name);
+			removeTracker(name);
+			agreedRanking.removeIf(tracker -> tracker.getName().equals(name));
+			trackerLifecycle.remove(name);
+			radar.remove(name);
+			ownership.remove(name);
 		}
 	}
 
-	public boolean simulateGunFire(Tracker tracker, Location target, long currentTick, double headingDiff, double acceleration) {
-		Location simulationLocation = getCurrentLocation();
-		double distance = simulationLocation.distanceTo(target);
-		double power = calculateBulletPower(simulationLocation, target);
-		double bulletVelocity = Rules.getBulletSpeed(power);
-		double simulatedHeading = getHeading();
-		double simulatedGunHeading = getGunHeading();
-		double simulatedVelocity = getVelocity();
-		long simulationTick = currentTick;
-		boolean aiming = true;
-
+	public boolean simulateGunFire(Tracker tracker, Location target, long currentTick) {
+		double simulatedGunHeading = frame.getGunHeading();
 
-		while (aiming) {
-			simulatedHeading = (simulatedHeading + headingDiff) % 360;
-			simulatedVelocity = acceleration > 0 ? Math.min(simulatedVelocity + acceleration, 8.0) : Math.max(simulatedVelocity + acceleration, 0);
+		for (int i = 1; i <= predictor.getHorizon(); i++) {
+			// Gun turns along with robot body
+			simulatedGunHeading = (simulatedGunHeading + predictor.getTurn(i) + 360) % 360;
 
-			Location nextLocation = ArenaCalculations.polarInfoToLocation(simulationLocation, simulatedHeading + headingDiff, simulatedVelocity);
-			double angleToShoot = ArenaCalculations.angleFromOriginToLocation(nextLocation, target);
-			double angleAdjustmentNeeded = ArenaCalculations.shortestAngle(ArenaCalculations.angleDeltaRight(simulatedGunHeading + headingDiff, angleToShoot));
+			double angleToShoot = ArenaCalculations.angleFromOriginToLocation(predictor.getX(i), predictor.getY(i), target.getX(), target.getY());
+			double angleAdjustmentNeeded = ArenaCalculations.shortestAngle(ArenaCalculations.angleDeltaRight(simulatedGunHeading, angleToShoot));
 
-			if (Math.abs(angleAdjustmentNeeded) > Rules.GUN_TURN_RATE) {
-				angleAdjustmentNeeded = angleAdjustmentNeeded > 0 ? Rules.GUN_TURN_RATE : -Rules.GUN_TURN_RATE;
-			}
+			if (Math.abs(angleAdjustmentNeeded) <= Rules.GUN_TURN_RATE) {
+				// Aimed on this tick, fire on the next one, then bullet travels from fire location
+				double distance = Math.hypot(target.getX() - predictor.getX(i), target.getY() - predictor.getY(i));
+				double bulletVelocity = Rules.getBulletSpeed(calculateBulletPower(frame.getLocation(), target));
+				long simulationTick = currentTick + i + 1 + (long) Math.ceil(distance / bulletVelocity);
 
-			else {
-				aiming = false;
+				return ArenaCalculations.isLocationInsideRobot(tracker.getLocationByTick(simulationTick), tracker.getHeading(simulationTick), target, 0);
 			}
 
-			simulationLocation = nextLocation;
-			simulatedGunHeading = (simulatedGunHeading + angleAdjustmentNeeded) % 360;
-			simulationTick++;
+			simulatedGunHeading = (simulatedGunHeading + (angleAdjustmentNeeded > 0 ? Rules.GUN_TURN_RATE : -Rules.GUN_TURN_RATE) + 360) % 360;
 		}
 
-		simulationTick++; // Simulate fire
-
-		simulationTick += (long) Math.ceil(distance / bulletVelocity);
-
-		return ArenaCalculations.isLocationInsideRobot(tracker.getLocationByTick(simulationTick), tracker.getHeading(simulationTick), target, 0);
+		// Not possible to aim within prediction horizon
+		return false;
 	}
 
 	public void cleanGun() {
@@ -509,23 +803,38 @@ public class Captain extends TeamRobot {
 	}
 
 	public void onStatus(StatusEvent e) {
-		double headingDiff = ArenaCalculations.shortestAngle(e.getStatus().getHeading() - lastHeading);
-		double acceleration = e.getStatus().getVelocity() - lastVelocity;
-		Vector momentumVector = ArenaCalculations.angleToUnitVector(e.getStatus().getHeading());
-		ticksInStraightLine = headingDiff == 0 ? ticksInStraightLine + 1 : 0;
-		Location currentLocation = getCurrentLocation();
+		// Navigation state for this tick, shared by every handler
+		frame = new NavigationFrame(e.getStatus(), lastHeading, gps);
+		surfer.record(frame);
+		dangerGrid.advance(e.getTime());
+
+		// Teammates only send their location when it drifts from dead reckoning, so it is extrapolated in between
+		for (Map.Entry<String, DeadReckoning> entry : teammateReckoning.entrySet()) {
+			Location teammate = entry.getValue().extrapolate(e.getTime());
+			Vector velocity = entry.getValue().getVelocityVector(e.getTime());
+			teammatesTracking.put(entry.getKey(), teammate);
+			dangerGrid.addTeammate(teammate.getX(), teammate.getY(), TEAMMATE_DANGER);
+			teammateKinematics.update(entry.getKey(), teammate.getX(), teammate.getY(), velocity.getX(), velocity.getY(), e.getTime());
+		}
+
+		// Trackers without recent pings age to stale and dormant
+		trackerLifecycle.advance(e.getTime());
+		surfer.expire(e.getTime(), frame.getLocation());
 
-		// Update teammates of current location
-		sendMessageToTeam(new Message(currentLocation));
+		double headingDiff = frame.getHeadingDiff();
+		ticksInStraightLine = headingDiff == 0 ? ticksInStraightLine + 1 : 0;
+		Location currentLocation = frame.getLocation();
 
-		// Keep radar spinning
-		setTurnRadarLeft(Rules.RADAR_TURN_RATE);
+		// Update teammates of current location, if their dead reckoning of this robot is off
+		if (selfReckoning.needsUpdate(currentLocation, e.getTime())) {
+			sendMessageToTeam(new Message(currentLocation, e.getTime(), frame.getHeading(), frame.getVelocity(), headingDiff));
+		}
 
 		// Movement calculations
 		if (PRIORITY_MOTIONS.contains(motion) && Math.abs(e.getStatus().getDistanceRemaining()) < 10) {
 			if (motion == MotionType.HIT_WALL) {
-				List<Location> walls = gps.getWallsOrderedByDistance(getCurrentLocation(), false);
-				targetHeading = new Vector(walls.get(0), getCurrentLocation()).arenaAngleOfVector();
+				List<Location> walls = frame.getWalls();
+				targetHeading = new Vector(walls.get(0), currentLocation).arenaAngleOfVector();
 				motion = MotionType.TURNING;
 			}
 			else {
@@ -535,16 +844,21 @@ public class Captain extends TeamRobot {
 
 		// Handle movement if priority task is not happening
 		if (gps != null) {
-			Location tooCloseTeammate = gps.tooCloseToTeammate(currentLocation);
+			// Surf enemy bullet waves that reach the robot within the horizon, unless a priority task is happening
+			if (!PRIORITY_MOTIONS.contains(motion) && motion != MotionType.ENEMY_COLLISION && surfer.hasThreats(e.getTime(), currentLocation)) {
+				motion = MotionType.SURFING;
+				limitVelocity(MAX_ALLOWED_VELOCITY);
+				surfer.surf(frame, gps, dangerGrid, velocityLimit);
+				setTurnRight(surfer.getSurfTurn());
+				setAhead(surfer.getSurfDistance());
+			}
 
-			// Normal behavior movement
-			if (!PRIORITY_MOTIONS.contains(motion)) {
+			else if (motion == MotionType.SURFING) {
+				motion = MotionType.READY_TO_MOVE;
+			}
 
-				// Check if there is collision danger
-				if (motion != MotionType.AVOIDING_TEAMMATE && tooCloseTeammate != null && (!gps.isInsideOfZone(currentLocation) || gps.zoneIsFullArena())) {
-					motion = MotionType.AVOIDING_TEAMMATE;
-					goPerpendicularToVectorDirection(new Vector(tooCloseTeammate, currentLocation), e.getStatus().getHeading(), null);
-				}
+			// Normal behavior movement
+			if (!PRIORITY_MOTIONS.contains(motion) && motion != MotionType.SURFING) {
 
 				// Verify if collided with enemy and ready to fire
 				if (motion == MotionType.ENEMY_COLLISION && e.getStatus().getGunTurnRemaining() == 0) {
@@ -553,17 +867,17 @@ public class Captain extends TeamRobot {
 				}
 
 				// If is going in straight line for too long
-				if (ticksInStraightLine > MAX_TICKS_IN_STRAIGHT_LINE && gps.isInsideOfZone(currentLocation)) {
+				if (ticksInStraightLine > MAX_TICKS_IN_STRAIGHT_LINE && frame.isInsideOfZone()) {
 					motion = MotionType.RANDOM_DIVERSION;
 					ticksInStraightLine = 0;
 
 					// Change heading
-					targetHeading = (e.getStatus().getHeading() + 90 * (ThreadLocalRandom.current().nextDouble() > 0.5 ? 1 : -1)) % 360;
+					targetHeading = (frame.getHeading() + 90 * (ThreadLocalRandom.current().nextDouble() > 0.5 ? 1 : -1)) % 360;
 				}
 
 				// Ready to start motion
 				if (motion == MotionType.READY_TO_MOVE) {
-					if (gps.isInsideOfZone(currentLocation)) {
+					if (frame.isInsideOfZone()) {
 						motion = MotionType.MOVING;
 						setAhead(50);
 					} else {
@@ -575,7 +889,7 @@ public class Captain extends TeamRobot {
 
 				// Check if is close to walls
 				if (motion != MotionType.TURNING) {
-					Double newHeading = gps.getTargetHeading(currentLocation);
+					Double newHeading = gps.getTargetHeading(frame);
 					if (Objects.nonNull(newHeading)) {
 						motion = MotionType.TURNING;
 						targetHeading = newHeading;
@@ -585,27 +899,36 @@ public class Captain extends TeamRobot {
 				// Just keep going until other action is triggered
 				if (motion == MotionType.MOVING) {
 					// Check if inside zone or moving towards it
-					if (!gps.isInsideOfZone(currentLocation) && !gps.isHeadingTowardsZone(currentLocation, e.getStatus().getHeading())) {
+					if (!frame.isInsideOfZone() && !gps.isHeadingTowardsZone(currentLocation, frame.getHeading())) {
 						motion = MotionType.TURNING;
 						Location centerOfZone = gps.getCenterOfZone();
 						targetHeading = ArenaCalculations.angleFromOriginToLocation(currentLocation, centerOfZone);
 					}
+
+					// Minimum risk movement, steer away if current path is considerably more dangerous than another
+					else if (frame.isInsideOfZone()) {
+						Double saferHeading = dangerGrid.getSaferHeading(frame, gps);
+
+						if (saferHeading != null) {
+							motion = MotionType.TURNING;
+							targetHeading = saferHeading;
+						}
+					}
 					setAhead(50);
 				}
 
 				// Handle turning to target heading
 				if (motion == MotionType.TURNING || motion == MotionType.RANDOM_DIVERSION) {
-					setMaxVelocity(TURN_ALLOWED_VELOCITY);
-					double nextVelocity = acceleration > 0 ? Math.min(e.getStatus().getVelocity() + acceleration, Rules.MAX_VELOCITY) : Math.max(e.getStatus().getVelocity() + acceleration, 0);
-					double maxTurn = Rules.MAX_TURN_RATE - (0.75 * nextVelocity);
+					limitVelocity(TURN_ALLOWED_VELOCITY);
+					double maxTurn = MovementPredictor.getMaxTurnRate(frame.getVelocity());
 
-					double angleDelta = ArenaCalculations.shortestAngle(ArenaCalculations.angleDeltaRight(getHeading(), targetHeading));
+					double angleDelta = ArenaCalculations.shortestAngle(ArenaCalculations.angleDeltaRight(frame.getHeading(), targetHeading));
 
 					if (Math.abs(angleDelta) > maxTurn) {
 						angleDelta = angleDelta > 0 ? maxTurn : -maxTurn;
 					} else {
 						motion = MotionType.MOVING;
-						setMaxVelocity(MAX_ALLOWED_VELOCITY);
+						limitVelocity(MAX_ALLOWED_VELOCITY);
 					}
 
 					setTurnRight(angleDelta);
@@ -614,46 +937,84 @@ public class Captain extends TeamRobot {
 			}
 		}
 
+		// Predictive teammate avoidance, steering this tick's motion out of velocity obstacles
+		double tickVelocityLimit = velocityLimit;
+		if (gps != null && motion != MotionType.HIT_WALL) {
+			double desiredHeading = (getTravelHeading() + getTurnRemaining() + 360) % 360;
+			double desiredSpeed = getDistanceRemaining() == 0 ? 0 : velocityLimit;
+
+			if (teammateAvoider.avoid(currentLocation.getX(), currentLocation.getY(), desiredHeading, desiredSpeed, teammateKinematics, e.getTime())) {
+				steerTravel(teammateAvoider.getHeading());
+				tickVelocityLimit = teammateAvoider.getSpeed();
+			}
+		}
+
+		// Predictive wall smoothing, walls take precedence as hitting them costs energy and stops the robot
+		if (gps != null && motion != MotionType.HIT_WALL && getDistanceRemaining() != 0) {
+			double desiredHeading = (getTravelHeading() + getTurnRemaining() + 360) % 360;
+			double expectedSpeed = Math.min(tickVelocityLimit, Math.abs(frame.getVelocity()) + Rules.ACCELERATION);
+			double smoothedHeading = wallSmoothing.smooth(currentLocation.getX(), currentLocation.getY(), desiredHeading, expectedSpeed);
+
+			if (smoothedHeading != desiredHeading) {
+				steerTravel(smoothedHeading);
+			}
+		}
+		setMaxVelocity(tickVelocityLimit);
+
+		// Predict own movement with the commands set on this tick, shared by gun and bullet avoidance
+		predictor.predict(currentLocation.getX(), currentLocation.getY(), frame.getHeading(), frame.getVelocity(), getTurnRemaining(), getDistanceRemaining(), tickVelocityLimit);
+
+		// Every robot ranks bounties from the reports shared up to the same tick, and only shares a digest of the result,
+		// so the leader can correct teammates whose reports differ
+		if (e.getTime() % RANKING_PERIOD == 0) {
+			orderBounties(e.getTime() - RANKING_INPUT_DELAY);
+			rankingTick = e.getTime();
+			rankingDigest = BountyBoard.digest(mostWanted);
+			sendMessageToTeam(new Message(rankingDigest, rankingTick));
+		}
+
+		// Leader only sends its ranking when a teammate disagrees with it
+		if (amCurrentLeader() && rankingDisagreement) {
+			BountyUpdate update = bountyBoard.publish(mostWanted, getName(), e.getTime());
+			if (update != null) {
+				sendMessageToTeam(new Message(update));
+			}
+			rankingDisagreement = false;
+		}
+
 		// Ready to acquire target
 		if (getGunHeat() == 0.0 && bounty == null) {
-			if (amCurrentLeader()) {
-				if (outOfDateBounties) {
-					orderBounties();
-				}
-
+			// Own ranking is used unless it disagrees with the current leader, then the one the leader sent,
+			// and the last agreed one while that is on its way
+			if (rankingSource == null || !rankingSource.equals(currentLeader)) {
 				setBounty(mostWanted);
 			}
 
+			else if (bountyBoard.getVersion() != rankingVersion) {
+				setBounty(matchBounties(bountyBoard.getRanking()));
+			}
+
 			else {
-				// Inform leader that robot is ready to fire
-				sendMessageToTeammate(currentLeader, new Message(MessageType.GUN_READY_INFO));
+				setBounty(agreedRanking.isEmpty() ? mostWanted : agreedRanking);
+			}
+
+			// Gun is cool but has nothing to shoot at
+			if (bounty == null) {
+				gunIdleTicks++;
 			}
 		}
 
 		// Simulate enemy movement to figure out where to shoot
 		if (bounty != null & target == null & (motion != MotionType.AVOIDING_BULLET)) {
-			// Running simulations with enemy position prediction, considering this robot's heading variation
-			// AKA, considering moving in a curve, variable speed
+			// Running simulations with enemy position prediction, against this robot's predicted movement
 			for (int i = 1; i < MAX_SIMULATION_ITERATIONS_ENEMY; i++) {
 				Location enemy = bounty.getLocationByTick(e.getTime() + i);
-				if (simulateGunFire(bounty, enemy, e.getTime(), headingDiff, acceleration)) {
+				if (simulateGunFire(bounty, enemy, e.getTime())) {
 					target = enemy;
 					break;
 				}
 			}
 
-			// If no target was found, re-run simulations, this time ignoring this robot's heading variation and acceleration
-			// AKA, considering moving in straight line, constant speed
-			if (target == null && headingDiff != 0) {
-				for (int i = 1; i < MAX_SIMULATION_ITERATIONS_ENEMY; i++) {
-					Location enemy = bounty.getLocationByTick(e.getTime() + i);
-					if (simulateGunFire(bounty, enemy, e.getTime(), 0, 0)) {
-						target = enemy;
-						break;
-					}
-				}
-			}
-
 			if (target == null) {
 				// Get new tracker
 				cleanGun();
@@ -668,9 +1029,9 @@ public class Captain extends TeamRobot {
 
 		// Start aiming towards target
 		if (target != null) {
-			Location nextLocation = ArenaCalculations.polarInfoToLocation(currentLocation, ArenaCalculations.convertAngleToPolarOrArena(getHeading() + headingDiff), e.getStatus().getVelocity());
-			double angleToShoot = ArenaCalculations.angleFromOriginToLocation(nextLocation, target);
-			double angleAdjustmentNeeded = ArenaCalculations.shortestAngle(ArenaCalculations.angleDeltaRight(getGunHeading() + headingDiff, angleToShoot));
+			double nextGunHeading = (frame.getGunHeading() + predictor.getTurn(1) + 360) % 360;
+			double angleToShoot = ArenaCalculations.angleFromOriginToLocation(predictor.getX(1), predictor.getY(1), target.getX(), target.getY());
+			double angleAdjustmentNeeded = ArenaCalculations.shortestAngle(ArenaCalculations.angleDeltaRight(nextGunHeading, angleToShoot));
 
 			if (Math.abs(angleAdjustmentNeeded) > Rules.GUN_TURN_RATE) {
 				angleAdjustmentNeeded =  angleAdjustmentNeeded > 0 ? Rules.GUN_TURN_RATE : -Rules.GUN_TURN_RATE;
@@ -683,28 +1044,37 @@ public class Captain extends TeamRobot {
 			setTurnGunRight(angleAdjustmentNeeded);
 		}
 
+		// Leader periodically splits enemies among radar equipped teammates
+		if (amCurrentLeader() && e.getTime() >= nextRadarAssignment) {
+			assignRadars();
+			nextRadarAssignment = e.getTime() + RADAR_ASSIGNMENT_PERIOD;
+		}
+
+		// Radar sweeps towards the oldest information, or locks onto the bounty before firing
+		int enemiesAlive = getOthers() - (teamStatus.size() - 1);
+		setTurnRadarRight(radar.getRadarTurn(currentLocation, getRadarHeading(), this::getTracker, enemiesAlive, bounty, e.getTime()));
+
 		// Update last values
-		lastHeading = e.getStatus().getHeading();
-		lastVelocity = e.getStatus().getVelocity();
+		lastHeading = frame.getHeading();
 
 		// Check if collision with friendly bullet is imminent
-		teamBullets.removeIf(bi -> (bi.bulletIsNull()) || (bi.getBulletLocation(e.getTime()) == null) || (avoidedBullets.contains(bi)));
-		avoidedBullets.removeIf(bi -> !teamBullets.contains(bi));
+		teamBullets.expire(e.getTime());
 
 		for (int i=1; i<=BULLET_ITERATIONS_PREVISION; i++) {
-			Location nextRobotLocation = momentumVector.setLength(e.getStatus().getVelocity()*i).apply(new Location(e.getStatus().getX(), e.getStatus().getY()));
-
-			for (BulletInfo bi : teamBullets) {
-				Location nextBulletLocation = bi.getBulletLocation(e.getTime() + i);
-				if (nextBulletLocation != null && ArenaCalculations.isLocationInsideRobot(nextRobotLocation, e.getStatus().getHeading(), nextBulletLocation, ROBOT_EDGES_DISTANCE_TOLERANCE)) {
-					// Robot is in a collision course, calculate in which direction to go
-					motion = MotionType.AVOIDING_BULLET;
-					goPerpendicularToVectorDirection(bi.getBulletVector(), e.getStatus().getHeading(), null);
-
-					// Once found one possible collision, ignore future iterations
-					avoidedBullets.add(bi);
-					return;
-				}
+			int bullets = teamBullets.loadPositions(e.getTime() + i);
+			int collision = CollisionKernels.firstInsideRobot(predictor.getX(i), predictor.getY(i), predictor.getHeading(i),
+					ROBOT_EDGES_DISTANCE_TOLERANCE, teamBullets.getLoadedX(), teamBullets.getLoadedY(), bullets);
+
+			if (collision >= 0) {
+				BulletRegistry.Entry entry = teamBullets.getLoaded(collision);
+
+				// Robot is in a collision course, calculate in which direction to go
+				motion = MotionType.AVOIDING_BULLET;
+				goPerpendicularToVectorDirection(entry.getBulletInfo().getBulletVector(), frame.getHeading(), null);
+
+				// Once found one possible collision, ignore future iterations
+				entry.markAvoided();
+				return;
 			}
 		}
 	}